@@ -55,6 +55,8 @@
 import org.spongepowered.common.service.rcon.MinecraftRconService;
 import org.spongepowered.common.service.scheduler.SpongeScheduler;
 import org.spongepowered.common.service.sql.SqlServiceImpl;
+import org.spongepowered.common.service.tick.SpongeTickMetrics;
+import org.spongepowered.common.service.tick.TickMetricsService;
 import org.spongepowered.common.service.user.SpongeUserStorage;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeDimensionType;
@@ -88,7 +90,8 @@ public static void initializeServices() {
         }
         registerService(ConfigService.class, new SpongeConfigService(Sponge.getGame().getPluginManager()));
         registerService(UserStorage.class, new SpongeUserStorage());
-        registerService(GameProfileResolver.class, new SpongeProfileResolver());
+        registerService(GameProfileResolver.class, SpongeProfileResolver.getInstance());
+        registerService(TickMetricsService.class, SpongeTickMetrics.getInstance());
     }
 
     private static <T> boolean registerService(Class<T> serviceClass, T serviceImpl) {
@@ -35,6 +35,7 @@
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Iterables;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.WorldServer;
@@ -63,11 +64,18 @@
 import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.interfaces.IMixinWorld;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
+import org.spongepowered.common.service.scheduler.AsyncTaskExecutor;
+import org.spongepowered.common.service.scheduler.SpongeScheduler;
+import org.spongepowered.common.service.tick.SpongeTickMetrics;
+import org.spongepowered.common.service.tick.WorldTickStats;
+import org.spongepowered.common.timings.SpongeTimings;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeDimensionType;
+import org.spongepowered.common.world.gen.CustomWorldChunkManager;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
@@ -94,6 +102,9 @@ public static CommandSpec getCommand() {
         nonFlagChildren.register(getAuditCommand(), "audit");
         nonFlagChildren.register(getHeapCommand(), "heap");
         nonFlagChildren.register(getPluginsCommand(), "plugins");
+        nonFlagChildren.register(getTasksCommand(), "tasks");
+        nonFlagChildren.register(getTimingsCommand(), "timings");
+        nonFlagChildren.register(getTpsCommand(), "tps");
         flagChildren.register(getChunksCommand(), "chunks");
         flagChildren.register(getConfigCommand(), "config");
         flagChildren.register(getReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -108,7 +119,10 @@ INDENT, title("reload"), LONG_INDENT, "Reloads a global, dimension, or world con
                         INDENT, title("save"), LONG_INDENT, "Saves a global, dimension, or world config\n",
                         INDENT, title("version"), LONG_INDENT, "Prints current Sponge version\n",
                         INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation",
-                        INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins"))
+                        INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
+                        INDENT, title("tasks"), LONG_INDENT, "Print asynchronous task statistics per plugin\n",
+                        INDENT, title("timings"), LONG_INDENT, "Toggle, reset or report timings\n",
+                        INDENT, title("tps"), LONG_INDENT, "Print server TPS and tick times per world"))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
                         .valueFlag(world(Texts.of("world"), Sponge.getGame()), "-world", "w")
@@ -232,14 +246,23 @@ protected Text value(Object text) {
                     }
 
                     protected Text getChunksInfo(WorldServer worldserver) {
-                        return Texts.of(NEWLINE_TEXT, key("Dimension: "), value(worldserver.provider.getDimensionId()), NEWLINE_TEXT,
+                        Text info = Texts.of(NEWLINE_TEXT, key("Dimension: "), value(worldserver.provider.getDimensionId()), NEWLINE_TEXT,
                                 key("Loaded chunks: "), value(worldserver.theChunkProviderServer.getLoadedChunkCount()), NEWLINE_TEXT,
                                 key("Active chunks: "), value(worldserver.activeChunkSet.size()), NEWLINE_TEXT,
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
+                                key("Active Entities: "), value(((IMixinWorld) worldserver).getActiveEntityCount()), NEWLINE_TEXT,
+                                key("Inactive Entities: "), value(((IMixinWorld) worldserver).getInactiveEntityCount()), NEWLINE_TEXT,
                                 key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
                         );
+                        if (worldserver.provider.getWorldChunkManager() instanceof CustomWorldChunkManager) {
+                            CustomWorldChunkManager chunkManager = (CustomWorldChunkManager) worldserver.provider.getWorldChunkManager();
+                            CacheStats stats = chunkManager.getBiomeCacheStats();
+                            info = Texts.of(info, key("Biome cache: "), value(String.format("%d regions, %d hits, %d misses (%.1f%% hit rate)",
+                                    chunkManager.getBiomeCacheSize(), stats.hitCount(), stats.missCount(), stats.hitRate() * 100)), NEWLINE_TEXT);
+                        }
+                        return info;
                     }
                 })
                 .build();
@@ -263,6 +286,7 @@ protected Text process(SpongeConfig<?> config, CommandSource source, CommandCont
 
                         if (value.isPresent()) { // Set
                             setting.setValue(value.get());
+                            config.update();
                             return Texts.builder().append(Texts.of(TextColors.GOLD, key), Texts.of(" set to "),
                                     title(String.valueOf(setting.getValue()))).build();
                         } else {
@@ -353,6 +377,126 @@ public CommandResult execute(CommandSource src, CommandContext args) throws Comm
                 .build();
     }
 
+    private static CommandSpec getTasksCommand() {
+        return CommandSpec.builder()
+                .description(Texts.of("Print asynchronous task statistics per plugin"))
+                .permission("sponge.command.tasks")
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        Optional<AsyncTaskExecutor> executor = SpongeScheduler.getInstance().getAsyncExecutor();
+                        if (!executor.isPresent()) {
+                            src.sendMessage(Texts.of("No asynchronous tasks have run yet"));
+                            return CommandResult.empty();
+                        }
+                        TextBuilder build = Texts.builder().append(title("Async workers: "),
+                                Texts.of(executor.get().getParallelism()));
+                        for (AsyncTaskExecutor.PluginQueue queue : executor.get().getPluginQueues()) {
+                            build.append(NEWLINE_TEXT, title(queue.getPluginId()), NEWLINE_TEXT, Texts.of(INDENT,
+                                    String.format("Queued: %d, Running: %d, Completed: %d, Rejected: %d, Avg wait: %.2fms, Avg run: %.2fms",
+                                            queue.getQueued(), queue.getRunning(), queue.getCompleted(), queue.getRejected(),
+                                            queue.getAverageWaitMillis(), queue.getAverageRunMillis())));
+                        }
+                        src.sendMessage(build.build());
+                        return CommandResult.success();
+                    }
+                })
+                .build();
+    }
+
+    private static CommandSpec getTimingsCommand() {
+        final ChildCommandElementExecutor children = new ChildCommandElementExecutor(null);
+        children.register(CommandSpec.builder()
+                .description(Texts.of("Start recording timings"))
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        SpongeTimings.setEnabled(true);
+                        src.sendMessage(Texts.of("Timings enabled"));
+                        return CommandResult.success();
+                    }
+                })
+                .build(), "on");
+        children.register(CommandSpec.builder()
+                .description(Texts.of("Stop recording timings"))
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        SpongeTimings.setEnabled(false);
+                        src.sendMessage(Texts.of("Timings disabled"));
+                        return CommandResult.success();
+                    }
+                })
+                .build(), "off");
+        children.register(CommandSpec.builder()
+                .description(Texts.of("Clear recorded timings"))
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        SpongeTimings.reset();
+                        src.sendMessage(Texts.of("Timings reset"));
+                        return CommandResult.success();
+                    }
+                })
+                .build(), "reset");
+        children.register(CommandSpec.builder()
+                .description(Texts.of("Write recorded timings to a JSON report"))
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        File file = new File(new File(new File("."), "timings"),
+                                "timings-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".json");
+                        src.sendMessage(Texts.of("Writing timings to: ", file));
+                        try {
+                            SpongeTimings.writeReport(file);
+                        } catch (IOException e) {
+                            throw new CommandException(Texts.of("Could not write timings: ", e.getMessage()), e);
+                        }
+                        src.sendMessage(Texts.of("Timings report complete"));
+                        return CommandResult.success();
+                    }
+                })
+                .build(), "report");
+        return CommandSpec.builder()
+                .description(Texts.of("Toggle, reset or report timings"))
+                .permission("sponge.command.timings")
+                .arguments(children)
+                .executor(children)
+                .build();
+    }
+
+    private static CommandSpec getTpsCommand() {
+        return CommandSpec.builder()
+                .description(Texts.of("Print server TPS and tick times per world"))
+                .permission("sponge.command.tps")
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        SpongeTickMetrics metrics = SpongeTickMetrics.getInstance();
+                        double[] tps = metrics.getTps();
+                        TextBuilder build = Texts.builder().append(title("TPS (1m, 5m, 15m): "),
+                                Texts.of(String.format("%.2f, %.2f, %.2f", tps[0], tps[1], tps[2])), NEWLINE_TEXT,
+                                title("Scheduled tasks: "), Texts.of(metrics.getScheduledTaskCount()));
+                        for (WorldTickStats stats : metrics.getWorldStats()) {
+                            build.append(NEWLINE_TEXT, title(stats.getWorldName()), Texts.of(" (", stats.getDimensionId(), ")"), NEWLINE_TEXT,
+                                    Texts.of(INDENT, String.format("Tick: mean %.2fms, p95 %.2fms, p99 %.2fms, max %.2fms over %d ticks",
+                                            stats.getMeanTickMillis(), stats.getP95TickMillis(), stats.getP99TickMillis(),
+                                            stats.getMaxTickMillis(), stats.getSampledTicks())), NEWLINE_TEXT,
+                                    Texts.of(INDENT, String.format("Phases: world %.2fms, entities %.2fms", stats.getMeanWorldTickMillis(),
+                                            stats.getMeanEntityTickMillis())), NEWLINE_TEXT,
+                                    Texts.of(INDENT, String.format("Entities: %d (%d active, %d inactive), Tile entities: %d",
+                                            stats.getEntities(), stats.getActiveEntities(), stats.getInactiveEntities(),
+                                            stats.getTileEntities())), NEWLINE_TEXT,
+                                    Texts.of(INDENT, String.format("Loaded chunks: %d, Chunk loads: %d", stats.getLoadedChunks(),
+                                            stats.getChunkLoads())));
+                        }
+                        src.sendMessage(build.build());
+                        return CommandResult.success();
+                    }
+                })
+                .build();
+    }
+
     private static class PluginsCommandElement extends PatternMatchingCommandElement {
 
         protected PluginsCommandElement(@Nullable Text key) {
@@ -0,0 +1,87 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.configuration;
+
+/**
+ * An immutable snapshot of the settings that apply to a world, taken from
+ * whichever of the world, dimension or global config is active.
+ *
+ * <p>Hooks which run for every entity move or collision check read the
+ * fields of this snapshot instead of resolving the active config and its
+ * categories each time. A snapshot is replaced once any config has been
+ * reloaded or changed since it was taken.</p>
+ */
+public final class EffectiveConfig {
+
+    private final int generation;
+
+    public final String configName;
+
+    public final int maxBoundingBoxSize;
+    public final int maxSpeed;
+    public final int maxCollisionSize;
+
+    public final boolean logChunkLoad;
+    public final boolean logChunkUnload;
+    public final boolean logEntitySpawn;
+    public final boolean logEntityDespawn;
+    public final boolean logEntityDeath;
+    public final boolean logEntityCollisionChecks;
+    public final boolean logEntitySpeedRemoval;
+    public final boolean logWithStackTraces;
+
+    public EffectiveConfig(SpongeConfig<?> config) {
+        // Read the generation first so a change made while copying the
+        // settings marks this snapshot as stale
+        this.generation = SpongeConfig.getGeneration();
+        this.configName = config.getConfigName();
+
+        SpongeConfig.EntityCategory entity = config.getConfig().getEntity();
+        this.maxBoundingBoxSize = entity.getMaxBoundingBoxSize();
+        this.maxSpeed = entity.getMaxSpeed();
+        this.maxCollisionSize = entity.getMaxCollisionSize();
+
+        SpongeConfig.LoggingCategory logging = config.getConfig().getLogging();
+        this.logChunkLoad = logging.chunkLoadLogging();
+        this.logChunkUnload = logging.chunkUnloadLogging();
+        this.logEntitySpawn = logging.entitySpawnLogging();
+        this.logEntityDespawn = logging.entityDespawnLogging();
+        this.logEntityDeath = logging.entityDeathLogging();
+        this.logEntityCollisionChecks = logging.logEntityCollisionChecks();
+        this.logEntitySpeedRemoval = logging.logEntitySpeedRemoval();
+        this.logWithStackTraces = logging.logWithStackTraces();
+    }
+
+    /**
+     * Gets whether no config has been reloaded or changed since this
+     * snapshot was taken.
+     *
+     * @return True if this snapshot is current
+     */
+    public boolean isCurrent() {
+        return this.generation == SpongeConfig.getGeneration();
+    }
+
+}
@@ -39,6 +39,7 @@
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @SuppressWarnings("unused")
 public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
@@ -79,6 +80,7 @@ public enum Type {
     // GENERAL
     public static final String GENERAL_DISABLE_WARNINGS = "disable-warnings";
     public static final String GENERAL_CHUNK_LOAD_OVERRIDE = "chunk-load-override";
+    public static final String GENERAL_PARALLEL_WORLD_STARTUP = "parallel-world-startup";
 
     // LOGGING
     public static final String LOGGING_CHUNK_LOAD = "chunk-load";
@@ -93,9 +95,21 @@ public enum Type {
     // MODULES
     public static final String MODULE_ENTITY_ACTIVATION_RANGE = "entity-activation-range";
 
+    // SCHEDULER
+    public static final String SCHEDULER_ASYNC_THREADS = "async-threads";
+    public static final String SCHEDULER_PLUGIN_CONCURRENCY_LIMIT = "plugin-concurrency-limit";
+    public static final String SCHEDULER_PLUGIN_QUEUE_LIMIT = "plugin-queue-limit";
+
+    // USERS
+    public static final String USERS_CACHE_MAX_SIZE = "cache-max-size";
+    public static final String USERS_CACHE_EXPIRE_MINUTES = "cache-expire-minutes";
+    public static final String USERS_PROFILE_CACHE_HOURS = "profile-cache-hours";
+    public static final String USERS_PROFILE_MISSING_CACHE_MINUTES = "profile-missing-cache-minutes";
+
     // WORLD
     public static final String WORLD_INFINITE_WATER_SOURCE = "infinite-water-source";
     public static final String WORLD_FLOWING_LAVA_DECAY = "flowing-lava-decay";
+    public static final String WORLD_PARALLEL_GENERATION = "parallel-generation";
 
     private static final String HEADER = "1.0\n"
             + "\n"
@@ -105,6 +119,10 @@ public enum Type {
             + "# IRC: #sponge @ irc.esper.net ( http://webchat.esper.net/?channel=sponge )\n"
             + "# Forums: https://forums.spongepowered.org/\n";
 
+    // Incremented whenever any config is loaded or changed, so that
+    // EffectiveConfig snapshots know to be rebuilt
+    private static final AtomicInteger generation = new AtomicInteger();
+
     private Type type;
     private HoconConfigurationLoader loader;
     private CommentedConfigurationNode root = SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults()
@@ -168,6 +186,7 @@ public void reload() {
             this.root = this.loader.load(ConfigurationOptions.defaults()
                     .setHeader(HEADER));
             this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            generation.incrementAndGet();
         } catch (IOException e) {
             LogManager.getLogger().error(ExceptionUtils.getStackTrace(e));
         } catch (ObjectMappingException e) {
@@ -175,6 +194,28 @@ public void reload() {
         }
     }
 
+    /**
+     * Updates the config object after settings were changed directly on the
+     * nodes returned by {@link #getSetting(String)}.
+     */
+    public void update() {
+        try {
+            this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            generation.incrementAndGet();
+        } catch (ObjectMappingException e) {
+            LogManager.getLogger().error(ExceptionUtils.getStackTrace(e));
+        }
+    }
+
+    /**
+     * Gets a counter which changes whenever any config is loaded or changed.
+     *
+     * @return The current generation
+     */
+    public static int getGeneration() {
+        return generation.get();
+    }
+
     public CommentedConfigurationNode getRootNode() {
         return this.root.getNode(this.modId);
     }
@@ -210,6 +251,12 @@ public static class GlobalConfig extends ConfigBase {
         @Setting(value = "modules")
         private ModuleCategory mixins = new ModuleCategory();
 
+        @Setting
+        private SchedulerCategory scheduler = new SchedulerCategory();
+
+        @Setting
+        private UsersCategory users = new UsersCategory();
+
         public SqlCategory getSql() {
             return this.sql;
         }
@@ -221,6 +268,14 @@ public CommandsCategory getCommands() {
         public ModuleCategory getModules() {
             return this.mixins;
         }
+
+        public SchedulerCategory getScheduler() {
+            return this.scheduler;
+        }
+
+        public UsersCategory getUsers() {
+            return this.users;
+        }
     }
 
     public static class DimensionConfig extends ConfigBase {
@@ -365,6 +420,9 @@ public static class GeneralCategory extends Category {
         @Setting(value = GENERAL_CHUNK_LOAD_OVERRIDE,
                 comment = "Forces Chunk Loading on provide requests (speedup for mods that don't check if a chunk is loaded)")
         private boolean chunkLoadOverride = false;
+        @Setting(value = GENERAL_PARALLEL_WORLD_STARTUP,
+                comment = "Read the level data of all worlds at once during startup. Only used in the global config")
+        private boolean parallelWorldStartup = true;
 
         public boolean disableWarnings() {
             return this.disableWarnings;
@@ -381,6 +439,14 @@ public boolean chunkLoadOverride() {
         public void setChunkLoadOverride(boolean chunkLoadOverride) {
             this.chunkLoadOverride = chunkLoadOverride;
         }
+
+        public boolean isParallelWorldStartup() {
+            return this.parallelWorldStartup;
+        }
+
+        public void setParallelWorldStartup(boolean parallelWorldStartup) {
+            this.parallelWorldStartup = parallelWorldStartup;
+        }
     }
 
     @ConfigSerializable
@@ -454,15 +520,20 @@ public void setHumanPlayerListRemoveDelay(int delay) {
     @ConfigSerializable
     public static class EntityActivationRangeCategory extends Category {
 
-        @Setting(value = ENTITY_ACTIVATION_RANGE_CREATURE)
+        @Setting(value = ENTITY_ACTIVATION_RANGE_CREATURE,
+                comment = "Range in blocks around a player within which creatures are ticked. Set to 0 to always tick them")
         private int creatureActivationRange = 32;
-        @Setting(value = ENTITY_ACTIVATION_RANGE_MONSTER)
+        @Setting(value = ENTITY_ACTIVATION_RANGE_MONSTER,
+                comment = "Range in blocks around a player within which monsters are ticked. Set to 0 to always tick them")
         private int monsterActivationRange = 32;
-        @Setting(value = ENTITY_ACTIVATION_RANGE_AQUATIC)
+        @Setting(value = ENTITY_ACTIVATION_RANGE_AQUATIC,
+                comment = "Range in blocks around a player within which aquatic entities are ticked. Set to 0 to always tick them")
         private int aquaticActivationRange = 32;
-        @Setting(value = ENTITY_ACTIVATION_RANGE_AMBIENT)
+        @Setting(value = ENTITY_ACTIVATION_RANGE_AMBIENT,
+                comment = "Range in blocks around a player within which ambient entities are ticked. Set to 0 to always tick them")
         private int ambientActivationRange = 32;
-        @Setting(value = ENTITY_ACTIVATION_RANGE_MISC)
+        @Setting(value = ENTITY_ACTIVATION_RANGE_MISC,
+                comment = "Range in blocks around a player within which miscellaneous entities are ticked. Set to 0 to always tick them")
         private int miscActivationRange = 16;
 
         public int getCreatureActivationRange() {
@@ -594,7 +665,7 @@ public void setLogEntitySpeedRemoval(boolean logEntitySpeedRemoval) {
     @ConfigSerializable
     public static class ModuleCategory extends Category {
 
-        @Setting(value = MODULE_ENTITY_ACTIVATION_RANGE)
+        @Setting(value = MODULE_ENTITY_ACTIVATION_RANGE, comment = "Skip or throttle the update of entities that are far away from players")
         private boolean pluginEntityActivation = true;
 
         public boolean usePluginEntityActivation() {
@@ -606,6 +677,90 @@ public void setPluginEntityActivation(boolean pluginEntityActivation) {
         }
     }
 
+    @ConfigSerializable
+    public static class SchedulerCategory extends Category {
+
+        @Setting(value = SCHEDULER_ASYNC_THREADS,
+                comment = "Number of threads running asynchronous tasks. Set to 0 to use twice the number of available processors, and at least 16")
+        private int asyncThreads = 0;
+        @Setting(value = SCHEDULER_PLUGIN_CONCURRENCY_LIMIT,
+                comment = "Max number of asynchronous tasks a single plugin can run at once, never more than half of the async threads")
+        private int pluginConcurrencyLimit = 4;
+        @Setting(value = SCHEDULER_PLUGIN_QUEUE_LIMIT,
+                comment = "Max number of asynchronous task runs a single plugin can have waiting. Further runs are skipped")
+        private int pluginQueueLimit = 1000;
+
+        public int getAsyncThreads() {
+            return this.asyncThreads;
+        }
+
+        public void setAsyncThreads(int asyncThreads) {
+            this.asyncThreads = asyncThreads;
+        }
+
+        public int getPluginConcurrencyLimit() {
+            return this.pluginConcurrencyLimit;
+        }
+
+        public void setPluginConcurrencyLimit(int pluginConcurrencyLimit) {
+            this.pluginConcurrencyLimit = pluginConcurrencyLimit;
+        }
+
+        public int getPluginQueueLimit() {
+            return this.pluginQueueLimit;
+        }
+
+        public void setPluginQueueLimit(int pluginQueueLimit) {
+            this.pluginQueueLimit = pluginQueueLimit;
+        }
+    }
+
+    @ConfigSerializable
+    public static class UsersCategory extends Category {
+
+        @Setting(value = USERS_CACHE_MAX_SIZE, comment = "Max number of offline users kept in memory")
+        private int cacheMaxSize = 1000;
+        @Setting(value = USERS_CACHE_EXPIRE_MINUTES, comment = "Minutes after its last use an offline user is removed from memory")
+        private int cacheExpireMinutes = 30;
+        @Setting(value = USERS_PROFILE_CACHE_HOURS, comment = "Hours a profile resolved from the session servers is stored locally")
+        private int profileCacheHours = 24;
+        @Setting(value = USERS_PROFILE_MISSING_CACHE_MINUTES,
+                comment = "Minutes a name or UUID that the session servers don't know is not looked up again")
+        private int profileMissingCacheMinutes = 10;
+
+        public int getCacheMaxSize() {
+            return this.cacheMaxSize;
+        }
+
+        public void setCacheMaxSize(int cacheMaxSize) {
+            this.cacheMaxSize = cacheMaxSize;
+        }
+
+        public int getCacheExpireMinutes() {
+            return this.cacheExpireMinutes;
+        }
+
+        public void setCacheExpireMinutes(int cacheExpireMinutes) {
+            this.cacheExpireMinutes = cacheExpireMinutes;
+        }
+
+        public int getProfileCacheHours() {
+            return this.profileCacheHours;
+        }
+
+        public void setProfileCacheHours(int profileCacheHours) {
+            this.profileCacheHours = profileCacheHours;
+        }
+
+        public int getProfileMissingCacheMinutes() {
+            return this.profileMissingCacheMinutes;
+        }
+
+        public void setProfileMissingCacheMinutes(int profileMissingCacheMinutes) {
+            this.profileMissingCacheMinutes = profileMissingCacheMinutes;
+        }
+    }
+
     @ConfigSerializable
     public static class WorldCategory extends Category {
 
@@ -613,6 +768,10 @@ public static class WorldCategory extends Category {
         private boolean infiniteWaterSource = false;
         @Setting(value = WORLD_FLOWING_LAVA_DECAY, comment = "Lava behaves like vanilla water when source block is removed")
         private boolean flowingLavaDecay = false;
+        @Setting(value = WORLD_PARALLEL_GENERATION,
+                comment = "Generate the terrain of custom world generators on worker threads, ahead of players.\n"
+                        + "Only enable this if the generator populators of the world are thread safe")
+        private boolean parallelGeneration = false;
 
         public boolean hasInfiniteWaterSource() {
             return this.infiniteWaterSource;
@@ -629,6 +788,14 @@ public boolean hasFlowingLavaDecay() {
         public void setFlowingLavaDecay(boolean flowingLavaDecay) {
             this.flowingLavaDecay = flowingLavaDecay;
         }
+
+        public boolean isParallelGeneration() {
+            return this.parallelGeneration;
+        }
+
+        public void setParallelGeneration(boolean parallelGeneration) {
+            this.parallelGeneration = parallelGeneration;
+        }
     }
 
     @ConfigSerializable
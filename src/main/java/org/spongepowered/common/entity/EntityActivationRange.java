@@ -0,0 +1,299 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.boss.EntityDragon;
+import net.minecraft.entity.boss.EntityDragonPart;
+import net.minecraft.entity.boss.EntityWither;
+import net.minecraft.entity.effect.EntityWeatherEffect;
+import net.minecraft.entity.item.EntityEnderCrystal;
+import net.minecraft.entity.item.EntityFallingBlock;
+import net.minecraft.entity.item.EntityFireworkRocket;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.entity.monster.IMob;
+import net.minecraft.entity.passive.EntityAmbientCreature;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.entity.passive.EntityVillager;
+import net.minecraft.entity.passive.EntityWaterMob;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.projectile.EntityArrow;
+import net.minecraft.entity.projectile.EntityFireball;
+import net.minecraft.entity.projectile.EntityThrowable;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.common.interfaces.IMixinEntity;
+import org.spongepowered.common.util.SpongeHooks;
+
+import java.util.Collection;
+
+/**
+ * Decides which entities are close enough to a player to be fully ticked.
+ *
+ * <p>Every world tick, the entities in chunks around each player are marked
+ * as activated if they fall within the activation range configured for their
+ * type. Entities that have not been activated only receive an
+ * {@link IMixinEntity#inactiveTick()}, unless one of the immunity rules (being
+ * hurt, riding, in flight, in water, breeding...) wakes them up.</p>
+ */
+public final class EntityActivationRange {
+
+    public static final byte ACTIVATION_TYPE_MONSTER = 1;
+    public static final byte ACTIVATION_TYPE_CREATURE = 2;
+    public static final byte ACTIVATION_TYPE_AQUATIC = 3;
+    public static final byte ACTIVATION_TYPE_AMBIENT = 4;
+    public static final byte ACTIVATION_TYPE_MISC = 5;
+
+    // Number of ticks an inactive entity waits between immunity checks, and
+    // the number of ticks an immune entity is kept active for.
+    private static final int IMMUNITY_CHECK_INTERVAL = 20;
+
+    /**
+     * Gets whether the entity activation range module is enabled in the
+     * global config.
+     *
+     * @return True if entity activation should be applied
+     */
+    public static boolean isEnabled() {
+        return Sponge.getGlobalConfig().getConfig().getModules().usePluginEntityActivation();
+    }
+
+    /**
+     * Classifies an entity into one of the activation range categories.
+     *
+     * @param entity The entity to classify
+     * @return The activation type
+     */
+    public static byte initializeEntityActivationType(Entity entity) {
+        if (entity instanceof IMob) {
+            return ACTIVATION_TYPE_MONSTER;
+        } else if (entity instanceof EntityWaterMob) {
+            return ACTIVATION_TYPE_AQUATIC;
+        } else if (entity instanceof EntityAmbientCreature) {
+            return ACTIVATION_TYPE_AMBIENT;
+        } else if (entity instanceof EntityCreature) {
+            return ACTIVATION_TYPE_CREATURE;
+        }
+        return ACTIVATION_TYPE_MISC;
+    }
+
+    /**
+     * Determines whether an entity should always be ticked, regardless of
+     * its distance to a player.
+     *
+     * @param entity The entity to check
+     * @param activationType The activation type of the entity
+     * @return True if the entity is always active
+     */
+    public static boolean initializeEntityActivationState(Entity entity, byte activationType) {
+        if (entity.worldObj == null || entity.worldObj.isRemote) {
+            return true;
+        }
+
+        if (entity instanceof EntityPlayer
+                || entity instanceof EntityThrowable
+                || entity instanceof EntityFireball
+                || entity instanceof EntityDragon
+                || entity instanceof EntityDragonPart
+                || entity instanceof EntityWither
+                || entity instanceof EntityWeatherEffect
+                || entity instanceof EntityTNTPrimed
+                || entity instanceof EntityFallingBlock
+                || entity instanceof EntityEnderCrystal
+                || entity instanceof EntityFireworkRocket) {
+            return true;
+        }
+
+        // A range of 0 disables activation for the whole category
+        return getActivationRange(SpongeHooks.getActiveConfig(entity.worldObj).getConfig().getEntityActivationRange(), activationType) <= 0;
+    }
+
+    /**
+     * Marks every entity within the activation range of a player as active
+     * for the current tick.
+     *
+     * @param world The world being ticked
+     */
+    @SuppressWarnings("unchecked")
+    public static void activateEntities(World world) {
+        SpongeConfig.EntityActivationRangeCategory config = SpongeHooks.getActiveConfig(world).getConfig().getEntityActivationRange();
+        final int monsterRange = config.getMonsterActivationRange();
+        final int creatureRange = config.getCreatureActivationRange();
+        final int aquaticRange = config.getAquaticActivationRange();
+        final int ambientRange = config.getAmbientActivationRange();
+        final int miscRange = config.getMiscActivationRange();
+
+        int maxRange = Math.max(monsterRange, Math.max(creatureRange, Math.max(aquaticRange, Math.max(ambientRange, miscRange))));
+        maxRange = Math.min((MinecraftServer.getServer().getConfigurationManager().getViewDistance() << 4) - 8, maxRange);
+        if (maxRange <= 0) {
+            return;
+        }
+
+        final long currentTick = MinecraftServer.getServer().getTickCounter();
+        for (EntityPlayer player : (Collection<EntityPlayer>) world.playerEntities) {
+            ((IMixinEntity) player).setActivatedTick(currentTick);
+
+            AxisAlignedBB playerBox = player.getEntityBoundingBox();
+            AxisAlignedBB maxBox = playerBox.expand(maxRange, 256, maxRange);
+            AxisAlignedBB[] boxes = new AxisAlignedBB[ACTIVATION_TYPE_MISC + 1];
+            boxes[ACTIVATION_TYPE_MONSTER] = playerBox.expand(monsterRange, 256, monsterRange);
+            boxes[ACTIVATION_TYPE_CREATURE] = playerBox.expand(creatureRange, 256, creatureRange);
+            boxes[ACTIVATION_TYPE_AQUATIC] = playerBox.expand(aquaticRange, 256, aquaticRange);
+            boxes[ACTIVATION_TYPE_AMBIENT] = playerBox.expand(ambientRange, 256, ambientRange);
+            boxes[ACTIVATION_TYPE_MISC] = playerBox.expand(miscRange, 256, miscRange);
+
+            int minChunkX = MathHelper.floor_double(maxBox.minX / 16.0D);
+            int maxChunkX = MathHelper.floor_double(maxBox.maxX / 16.0D);
+            int minChunkZ = MathHelper.floor_double(maxBox.minZ / 16.0D);
+            int maxChunkZ = MathHelper.floor_double(maxBox.maxZ / 16.0D);
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ) {
+                    if (world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+                        activateChunkEntities(world.getChunkFromChunkCoords(chunkX, chunkZ), boxes, currentTick);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void activateChunkEntities(Chunk chunk, AxisAlignedBB[] boxes, long currentTick) {
+        for (Collection<?> entitySection : chunk.getEntityLists()) {
+            for (Object object : entitySection) {
+                Entity entity = (Entity) object;
+                IMixinEntity spongeEntity = (IMixinEntity) entity;
+                if (currentTick <= spongeEntity.getActivatedTick()) {
+                    continue;
+                }
+                if (spongeEntity.getDefaultActivationState()) {
+                    spongeEntity.setActivatedTick(currentTick);
+                } else if (boxes[spongeEntity.getActivationType()].intersectsWith(entity.getEntityBoundingBox())) {
+                    spongeEntity.setActivatedTick(currentTick);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether an entity is in a state where it has to keep ticking
+     * even though it is outside of the activation range.
+     *
+     * @param entity The entity to check
+     * @return True if the entity should be woken up
+     */
+    public static boolean checkEntityImmunities(Entity entity) {
+        if (entity.inWater || entity.fire > 0) {
+            return true;
+        }
+        if (entity.riddenByEntity != null || entity.ridingEntity != null) {
+            return true;
+        }
+        if (entity instanceof EntityArrow) {
+            if (!((EntityArrow) entity).inGround) {
+                return true;
+            }
+        } else if (!entity.onGround) {
+            return true;
+        }
+        if (entity instanceof EntityLivingBase) {
+            EntityLivingBase living = (EntityLivingBase) entity;
+            if (living.hurtTime > 0 || !living.getActivePotionEffects().isEmpty()) {
+                return true;
+            }
+            if (entity instanceof EntityLiving && ((EntityLiving) entity).getAttackTarget() != null) {
+                return true;
+            }
+            if (entity instanceof EntityVillager && ((EntityVillager) entity).isMating()) {
+                return true;
+            }
+            if (entity instanceof EntityAnimal) {
+                EntityAnimal animal = (EntityAnimal) entity;
+                if (animal.isChild() || animal.isInLove()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether an entity should be fully ticked this tick.
+     *
+     * @param entity The entity to check
+     * @return True if the entity should be ticked normally
+     */
+    public static boolean checkIfActive(Entity entity) {
+        IMixinEntity spongeEntity = (IMixinEntity) entity;
+        if (spongeEntity.getDefaultActivationState() || entity.ridingEntity != null || entity.riddenByEntity != null) {
+            return true;
+        }
+
+        final long currentTick = MinecraftServer.getServer().getTickCounter();
+        boolean isActive = spongeEntity.getActivatedTick() >= currentTick;
+        if (!isActive) {
+            if (entity instanceof EntityLivingBase && ((EntityLivingBase) entity).hurtTime > 0) {
+                // Damage wakes an entity up straight away
+                spongeEntity.setActivatedTick(currentTick + IMMUNITY_CHECK_INTERVAL);
+                isActive = true;
+            } else if ((currentTick - spongeEntity.getActivatedTick() - 1) % IMMUNITY_CHECK_INTERVAL == 0) {
+                if (checkEntityImmunities(entity)) {
+                    spongeEntity.setActivatedTick(currentTick + IMMUNITY_CHECK_INTERVAL);
+                }
+                isActive = true;
+            }
+        } else if (entity.ticksExisted % 4 == 0 && !checkEntityImmunities(entity)) {
+            // Active but idle entities only tick three out of four ticks
+            isActive = false;
+        }
+        return isActive;
+    }
+
+    private static int getActivationRange(SpongeConfig.EntityActivationRangeCategory config, byte activationType) {
+        switch (activationType) {
+            case ACTIVATION_TYPE_MONSTER:
+                return config.getMonsterActivationRange();
+            case ACTIVATION_TYPE_CREATURE:
+                return config.getCreatureActivationRange();
+            case ACTIVATION_TYPE_AQUATIC:
+                return config.getAquaticActivationRange();
+            case ACTIVATION_TYPE_AMBIENT:
+                return config.getAmbientActivationRange();
+            default:
+                return config.getMiscActivationRange();
+        }
+    }
+
+    private EntityActivationRange() {
+    }
+
+}
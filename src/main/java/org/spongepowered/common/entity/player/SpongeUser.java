@@ -25,6 +25,7 @@
 package org.spongepowered.common.entity.player;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
 import com.mojang.authlib.GameProfile;
 import net.minecraft.nbt.NBTTagCompound;
 import org.spongepowered.api.data.DataContainer;
@@ -38,6 +39,7 @@
 import org.spongepowered.api.item.inventory.equipment.EquipmentType;
 import org.spongepowered.api.item.inventory.type.CarriedInventory;
 
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -52,6 +54,13 @@
  */
 public class SpongeUser implements ArmorEquipable, Tamer, DataSerializable, Carrier {
 
+    /**
+     * The top level tags of the player data file that are read by
+     * {@link #readFromNbt}. Other tags are skipped when loading an offline
+     * user, so a tag must be added here before it can be read.
+     */
+    public static final Set<String> NBT_SECTIONS = ImmutableSet.of("Inventory", "SpawnX", "SpawnY", "SpawnZ", "SpawnForced");
+
     private final GameProfile profile;
 
     public SpongeUser(GameProfile profile) {
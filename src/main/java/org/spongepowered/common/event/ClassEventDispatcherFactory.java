@@ -0,0 +1,204 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventHandler;
+import org.spongepowered.common.Sponge;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates one {@link EventDispatcher} class per baked handler list.
+ *
+ * <p>The generated {@code dispatch} method calls every handler from its own
+ * call site, in order, instead of looping over the handlers. The
+ * ignoreCancelled checks are only emitted for handlers that request them and
+ * only if the event type is {@link Cancellable} at all.</p>
+ *
+ * <p>Each class is defined in its own class loader so that it can be unloaded
+ * once the handler cache it belongs to is invalidated.</p>
+ */
+public final class ClassEventDispatcherFactory implements EventDispatcher.Factory {
+
+    // Keeps the generated dispatch method well below the method size limit
+    private static final int MAX_UNROLLED_HANDLERS = 1024;
+
+    private static final EventDispatcher EMPTY = new EventDispatcher.Iterating(new RegisteredHandler<?>[0]);
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final String targetPackage;
+
+    public ClassEventDispatcherFactory(String targetPackage) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+    }
+
+    @Override
+    public EventDispatcher create(Class<?> eventClass, List<RegisteredHandler<?>> handlers) {
+        if (handlers.isEmpty()) {
+            return EMPTY;
+        }
+
+        RegisteredHandler<?>[] handlerArray = handlers.toArray(new RegisteredHandler<?>[handlers.size()]);
+        if (handlerArray.length > MAX_UNROLLED_HANDLERS) {
+            return new EventDispatcher.Iterating(handlerArray);
+        }
+
+        String name = this.targetPackage + eventClass.getSimpleName() + "Dispatcher_" + this.id.incrementAndGet();
+        try {
+            Class<? extends EventDispatcher> dispatcherClass = new LocalClassLoader(getClass().getClassLoader())
+                    .defineClass(name, generateClass(name, eventClass, handlerArray));
+            return dispatcherClass.getConstructor(RegisteredHandler[].class).newInstance((Object) handlerArray);
+        } catch (Throwable e) {
+            Sponge.getLogger().error("Failed to generate event dispatcher for {}", eventClass.getName(), e);
+            return new EventDispatcher.Iterating(handlerArray);
+        }
+    }
+
+    private static final String BASE_DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String HANDLERS_DESCRIPTOR = Type.getDescriptor(RegisteredHandler[].class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+    private static final String EVENT_HANDLER_NAME = Type.getInternalName(EventHandler.class);
+    private static final String EVENT_HANDLER_DESCRIPTOR = Type.getDescriptor(EventHandler.class);
+    private static final String CANCELLABLE_NAME = Type.getInternalName(Cancellable.class);
+
+    private static byte[] generateClass(String name, Class<?> eventClass, RegisteredHandler<?>[] handlers) {
+        name = name.replace('.', '/');
+        final boolean cancellable = Cancellable.class.isAssignableFrom(eventClass);
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_DISPATCHER, null);
+
+        for (int i = 0; i < handlers.length; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "handler" + i, EVENT_HANDLER_DESCRIPTOR, null, null).visitEnd();
+        }
+
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", '(' + HANDLERS_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_DISPATCHER, "<init>", '(' + HANDLERS_DESCRIPTOR + ")V", false);
+            for (int i = 0; i < handlers.length; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitLdcInsn(i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKESTATIC, BASE_DISPATCHER, "getHandler",
+                        '(' + Type.getDescriptor(RegisteredHandler.class) + ')' + EVENT_HANDLER_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "handler" + i, EVENT_HANDLER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "dispatch", '(' + EVENT_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            for (int i = 0; i < handlers.length; i++) {
+                Label start = new Label();
+                Label end = new Label();
+                Label handler = new Label();
+                Label next = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+
+                mv.visitLabel(start);
+                if (cancellable && handlers[i].isIgnoreCancelled()) {
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitTypeInsn(CHECKCAST, CANCELLABLE_NAME);
+                    mv.visitMethodInsn(INVOKEINTERFACE, CANCELLABLE_NAME, "isCancelled", "()Z", true);
+                    mv.visitJumpInsn(IFNE, next);
+                }
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "handler" + i, EVENT_HANDLER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, EVENT_HANDLER_NAME, "handle", '(' + EVENT_DESCRIPTOR + ")V", true);
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, next);
+
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitLdcInsn(i);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, name, "handleException", '(' + EVENT_DESCRIPTOR + "ILjava/lang/Throwable;)V", false);
+
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+    private static class LocalClassLoader extends ClassLoader {
+
+        private LocalClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> Class<T> defineClass(String name, byte[] b) {
+            return (Class<T>) defineClass(name, b, 0, b.length);
+        }
+
+    }
+
+}
@@ -33,10 +33,14 @@
 import org.spongepowered.api.event.EventHandler;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.timings.SpongeTimings;
+import org.spongepowered.common.timings.Timing;
 
 import java.util.EnumMap;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public final class RegisteredHandler<T extends Event> implements SpongeEventHandler<T>, Comparable<RegisteredHandler<?>> {
 
     private final PluginContainer plugin;
@@ -48,6 +52,9 @@
 
     private final boolean ignoreCancelled;
 
+    @Nullable
+    private Timing timing;
+
     RegisteredHandler(PluginContainer plugin, Class<T> eventClass, Order order, EventHandler<? super T> handler, boolean ignoreCancelled) {
         this.plugin = checkNotNull(plugin, "plugin");
         this.eventClass = checkNotNull(eventClass, "eventClass");
@@ -68,6 +75,27 @@ public Order getOrder() {
         return this.order;
     }
 
+    public boolean isIgnoreCancelled() {
+        return this.ignoreCancelled;
+    }
+
+    EventHandler<? super T> getHandler() {
+        return this.handler;
+    }
+
+    /**
+     * Gets the timing of this handler, creating it on first use.
+     *
+     * @return The timing
+     */
+    public Timing getTiming() {
+        if (this.timing == null) {
+            this.timing = SpongeTimings.ofPlugin(this.plugin, "Event: " + this.eventClass.getSimpleName() + " ("
+                    + getHandle().getClass().getName() + ")");
+        }
+        return this.timing;
+    }
+
     @Override
     public Object getHandle() {
         if (this.handler instanceof SpongeEventHandler) {
@@ -95,11 +123,13 @@ public static final class Cache {
 
         private final List<RegisteredHandler<?>> handlers;
         private final EnumMap<Order, List<RegisteredHandler<?>>> handlersByOrder;
+        private final EventDispatcher dispatcher;
 
         private static final Order[] ORDERS = Order.values();
 
-        Cache(List<RegisteredHandler<?>> handlers) {
+        Cache(List<RegisteredHandler<?>> handlers, EventDispatcher dispatcher) {
             this.handlers = handlers;
+            this.dispatcher = checkNotNull(dispatcher, "dispatcher");
 
             this.handlersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
@@ -118,6 +148,10 @@ public List<RegisteredHandler<?>> getHandlersByOrder(Order order) {
             return this.handlersByOrder.get(checkNotNull(order, "order"));
         }
 
+        public EventDispatcher getDispatcher() {
+            return this.dispatcher;
+        }
+
     }
 
 }
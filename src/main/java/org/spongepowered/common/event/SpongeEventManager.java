@@ -33,8 +33,10 @@
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import org.spongepowered.api.event.Cancellable;
 import org.spongepowered.api.event.Event;
@@ -45,6 +47,7 @@
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.api.service.event.EventManager;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.timings.SpongeTimings;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -63,11 +66,26 @@ public class SpongeEventManager implements EventManager {
 
     private final PluginManager pluginManager;
     private final AnnotatedEventHandler.Factory handlerFactory = new ClassEventHandlerFactory("org.spongepowered.common.event.handler");
+    private final EventDispatcher.Factory dispatcherFactory = new ClassEventDispatcherFactory("org.spongepowered.common.event.dispatcher");
     private final Multimap<Class<?>, RegisteredHandler<?>> handlersByEvent = HashMultimap.create();
 
+    /**
+     * An index of the event supertypes of every event class seen so far, so
+     * that re-baking the handlers of an event type does not have to walk the
+     * class hierarchy again.
+     */
+    private final LoadingCache<Class<?>, ImmutableSet<Class<?>>> eventTypes =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<Class<?>, ImmutableSet<Class<?>>>() {
+                @Override
+                public ImmutableSet<Class<?>> load(Class<?> eventClass) throws Exception {
+                    return findEventTypes(eventClass);
+                }
+            });
+
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or removed.</p>
+     * <p>Only the event types that a changed handler can receive are
+     * invalidated if handlers are added or removed.</p>
      */
     private final LoadingCache<Class<? extends Event>, RegisteredHandler.Cache> handlersCache =
             CacheBuilder.newBuilder().build(new CacheLoader<Class<? extends Event>, RegisteredHandler.Cache>() {
@@ -82,21 +100,28 @@ public SpongeEventManager(PluginManager pluginManager) {
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
     }
 
+    private static ImmutableSet<Class<?>> findEventTypes(Class<?> eventClass) {
+        ImmutableSet.Builder<Class<?>> builder = ImmutableSet.builder();
+        for (Class<?> type : TypeToken.of(eventClass).getTypes().rawTypes()) {
+            if (Event.class.isAssignableFrom(type)) {
+                builder.add(type);
+            }
+        }
+        return builder.build();
+    }
+
     private RegisteredHandler.Cache bakeHandlers(Class<?> rootEvent) {
         List<RegisteredHandler<?>> handlers = Lists.newArrayList();
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        Set<Class<?>> types = (Set) TypeToken.of(rootEvent).getTypes().rawTypes();
+        Set<Class<?>> types = this.eventTypes.getUnchecked(rootEvent);
 
         synchronized (this.lock) {
             for (Class<?> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
-                }
+                handlers.addAll(this.handlersByEvent.get(type));
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredHandler.Cache(handlers);
+        return new RegisteredHandler.Cache(handlers, this.dispatcherFactory.create(rootEvent, handlers));
     }
 
     private static boolean isValidHandler(Method method) {
@@ -115,18 +140,42 @@ private void register(RegisteredHandler<?> handler) {
         register(Collections.<RegisteredHandler<?>>singletonList(handler));
     }
 
+    /**
+     * Invalidates the cached handlers of every event type that can be handled
+     * by a handler for one of the given event classes.
+     *
+     * @param changedEventClasses The event classes of the changed handlers
+     */
+    private void invalidateHandlers(Set<Class<?>> changedEventClasses) {
+        List<Class<? extends Event>> invalidated = Lists.newArrayList();
+        for (Class<? extends Event> cachedEventClass : this.handlersCache.asMap().keySet()) {
+            for (Class<?> changedEventClass : changedEventClasses) {
+                if (changedEventClass.isAssignableFrom(cachedEventClass)) {
+                    invalidated.add(cachedEventClass);
+                    break;
+                }
+            }
+        }
+        this.handlersCache.invalidateAll(invalidated);
+    }
+
     private void register(List<RegisteredHandler<?>> handlers) {
+        // Index the event types outside of the lock
+        for (RegisteredHandler<?> handler : handlers) {
+            this.eventTypes.getUnchecked(handler.getEventClass());
+        }
+
         synchronized (this.lock) {
-            boolean changed = false;
+            Set<Class<?>> changed = Sets.newHashSet();
 
             for (RegisteredHandler<?> handler : handlers) {
                 if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
+                    changed.add(handler.getEventClass());
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+            if (!changed.isEmpty()) {
+                invalidateHandlers(changed);
             }
         }
     }
@@ -196,19 +245,19 @@ public <T extends Event> void register(Object plugin, Class<T> eventClass, Order
 
     private void unregister(Predicate<RegisteredHandler<?>> unregister) {
         synchronized (this.lock) {
-            boolean changed = false;
+            Set<Class<?>> changed = Sets.newHashSet();
 
             Iterator<RegisteredHandler<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredHandler<?> handler = itr.next();
                 if (unregister.apply(handler)) {
                     itr.remove();
-                    changed = true;
+                    changed.add(handler.getEventClass());
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+            if (!changed.isEmpty()) {
+                invalidateHandlers(changed);
             }
         }
     }
@@ -241,14 +290,34 @@ protected RegisteredHandler.Cache getHandlerCache(Event event) {
         return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
     }
 
+    /**
+     * Gets whether any handler would be called for an event of the given
+     * type, so that callers in hot code paths can skip constructing the event
+     * entirely.
+     *
+     * <p>This is backed by the same baked handler cache as {@link #post}, so
+     * it is invalidated whenever handlers are registered or unregistered.</p>
+     *
+     * @param eventClass The event type, usually the event interface
+     * @return True if at least one handler is registered for the type
+     */
+    public boolean hasHandlers(Class<? extends Event> eventClass) {
+        return !this.handlersCache.getUnchecked(checkNotNull(eventClass, "eventClass")).getHandlers().isEmpty();
+    }
+
     @SuppressWarnings("unchecked")
     protected static boolean post(Event event, List<RegisteredHandler<?>> handlers) {
+        boolean timings = SpongeTimings.isEnabled();
         for (@SuppressWarnings("rawtypes") RegisteredHandler handler : handlers) {
+            long start = timings ? System.nanoTime() : 0L;
             try {
                 handler.handle(event);
             } catch (Throwable e) {
                 Sponge.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
             }
+            if (timings) {
+                handler.getTiming().stop(start);
+            }
         }
 
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
@@ -256,7 +325,13 @@ protected static boolean post(Event event, List<RegisteredHandler<?>> handlers)
 
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getHandlers());
+        RegisteredHandler.Cache cache = getHandlerCache(event);
+        if (SpongeTimings.isEnabled()) {
+            // The generated dispatchers are not instrumented
+            return post(event, cache.getHandlers());
+        }
+        cache.getDispatcher().dispatch(event);
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
     public boolean post(Event event, Order order) {
@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces;
+
+import com.mojang.authlib.GameProfile;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads of the user cache which are safe from any thread. They answer from
+ * copies of the cache entries kept as the server thread adds them, and never
+ * modify the cache or look up missing profiles.
+ */
+public interface IMixinPlayerProfileCache {
+
+    /**
+     * Gets the cached profile with the given name. Unlike
+     * {@code getGameProfileForUsername}, a miss is not looked up.
+     *
+     * @param name The name of the profile
+     * @return The profile, or null if it is not cached or has expired
+     */
+    @Nullable
+    GameProfile getCachedProfile(String name);
+
+    /**
+     * Gets the cached profile with the given unique id.
+     *
+     * @param uniqueId The unique id of the profile
+     * @return The profile, or null if it is not cached or has expired
+     */
+    @Nullable
+    GameProfile getCachedProfile(UUID uniqueId);
+
+    /**
+     * Gets all cached profiles which have not expired.
+     *
+     * @return The profiles
+     */
+    Collection<GameProfile> getCachedProfiles();
+
+}
@@ -24,19 +24,60 @@
  */
 package org.spongepowered.common.interfaces;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.gen.GeneratorPopulator;
 import org.spongepowered.api.world.gen.Populator;
+import org.spongepowered.common.configuration.EffectiveConfig;
 import org.spongepowered.common.configuration.SpongeConfig;
 
 public interface IMixinWorld {
 
     SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig();
 
+    /**
+     * Gets a snapshot of the settings of the config active for this world,
+     * rebuilt whenever a config has changed.
+     *
+     * @return The effective config
+     */
+    EffectiveConfig getEffectiveConfig();
+
     ImmutableList<Populator> getPopulators();
 
     ImmutableList<GeneratorPopulator> getGeneratorPopulators();
 
     void updateWorldGenerator();
 
+    /**
+     * Loads a chunk like {@link org.spongepowered.api.world.World#loadChunk},
+     * but reads it from the region file on an I/O thread. The future is
+     * completed on the server thread once the chunk was added to the world.
+     *
+     * @param x The chunk x coordinate
+     * @param y The chunk y coordinate
+     * @param z The chunk z coordinate
+     * @param shouldGenerate Whether to generate the chunk if it doesn't exist
+     * @return A future completing with the chunk, if it was loaded
+     */
+    ListenableFuture<Optional<Chunk>> loadChunkAsync(int x, int y, int z, boolean shouldGenerate);
+
+    /**
+     * Gets the number of entities that were fully ticked during the last
+     * entity update of this world.
+     *
+     * @return The number of active entities
+     */
+    int getActiveEntityCount();
+
+    /**
+     * Gets the number of entities that were skipped by the entity activation
+     * range during the last entity update of this world.
+     *
+     * @return The number of inactive entities
+     */
+    int getInactiveEntityCount();
+
 }
@@ -32,6 +32,25 @@ public interface IMixinText {
 
     IChatComponent toComponent(Locale locale);
 
+    /**
+     * Gets the component of this text as part of the component of another
+     * text. Unlike {@link #toComponent}, no equal text is looked up, that is
+     * only done for the text being converted.
+     *
+     * @param locale The locale of the component
+     * @return The component
+     */
+    IChatComponent toChildComponent(Locale locale);
+
+    /**
+     * Gets whether the component of this text can be shared with equal texts.
+     * Texts holding content that can change after they are created, like
+     * items shown on hover, can't.
+     *
+     * @return Whether the component can be shared
+     */
+    boolean isShareable();
+
     String toPlain(Locale locale);
 
     String toJson(Locale locale);
@@ -40,15 +40,17 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.interfaces.text.IMixinChatComponent;
 import org.spongepowered.common.interfaces.text.IMixinText;
+import org.spongepowered.common.text.LocalizedComponentCache;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.action.SpongeClickAction;
 import org.spongepowered.common.text.action.SpongeHoverAction;
 import org.spongepowered.common.text.format.SpongeTextColor;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
 
 @Mixin(value = Text.class, remap = false)
 public abstract class MixinText implements IMixinText {
@@ -60,57 +62,132 @@ public abstract class MixinText implements IMixinText {
     @Shadow protected Optional<HoverAction<?>> hoverAction;
     @Shadow protected Optional<ShiftClickAction<?>> shiftClickAction;
 
-    private Map<Locale, IChatComponent> localizedComponents;
-    private String json;
+    // Texts are usually only shown in a few languages, more are not kept
+    private static final int MAX_CACHED_LOCALES = 4;
+
+    @Nullable private volatile ConcurrentMap<Locale, LocalizedComponentCache.Entry> localizedComponents;
+    // Both computed on first use, texts are immutable
+    @Nullable private volatile Boolean shareable;
+    private volatile int textHash;
+    private volatile boolean textHashed;
 
     protected ChatComponentStyle createComponent(Locale locale) {
         throw new UnsupportedOperationException();
     }
 
-    private IChatComponent initializeComponent(Locale locale) {
-        if (this.localizedComponents == null) {
-            this.localizedComponents = Collections.synchronizedMap(new HashMap<Locale, IChatComponent>());
+    private IChatComponent buildComponent(Locale locale) {
+        IChatComponent component = createComponent(locale);
+        ChatStyle style = component.getChatStyle();
+
+        if (this.color != TextColors.NONE) {
+            style.setColor(((SpongeTextColor) this.color).getHandle());
         }
-        IChatComponent component = this.localizedComponents.get(locale);
-        if (component == null) {
-            component = createComponent(locale);
-            ChatStyle style = component.getChatStyle();
 
-            if (this.color != TextColors.NONE) {
-                style.setColor(((SpongeTextColor) this.color).getHandle());
-            }
+        if (!this.style.isEmpty()) {
+            style.setBold(this.style.isBold().orNull());
+            style.setItalic(this.style.isItalic().orNull());
+            style.setUnderlined(this.style.hasUnderline().orNull());
+            style.setStrikethrough(this.style.hasStrikethrough().orNull());
+            style.setObfuscated(this.style.isObfuscated().orNull());
+        }
 
-            if (!this.style.isEmpty()) {
-                style.setBold(this.style.isBold().orNull());
-                style.setItalic(this.style.isItalic().orNull());
-                style.setUnderlined(this.style.hasUnderline().orNull());
-                style.setStrikethrough(this.style.hasStrikethrough().orNull());
-                style.setObfuscated(this.style.isObfuscated().orNull());
-            }
+        if (this.clickAction.isPresent()) {
+            style.setChatClickEvent(SpongeClickAction.getHandle(this.clickAction.get()));
+        }
 
-            if (this.clickAction.isPresent()) {
-                style.setChatClickEvent(SpongeClickAction.getHandle(this.clickAction.get()));
-            }
+        if (this.hoverAction.isPresent()) {
+            style.setChatHoverEvent(SpongeHoverAction.getHandle(this.hoverAction.get(), locale));
+        }
 
-            if (this.hoverAction.isPresent()) {
-                style.setChatHoverEvent(SpongeHoverAction.getHandle(this.hoverAction.get(), locale));
-            }
+        if (this.shiftClickAction.isPresent()) {
+            ShiftClickAction.InsertText insertion = (ShiftClickAction.InsertText) this.shiftClickAction.get();
+            style.setInsertion(insertion.getResult());
+        }
+
+        for (Text child : this.children) {
+            component.appendSibling(((IMixinText) child).toChildComponent(locale));
+        }
+        return component;
+    }
 
-            if (this.shiftClickAction.isPresent()) {
-                ShiftClickAction.InsertText insertion = (ShiftClickAction.InsertText) this.shiftClickAction.get();
-                style.setInsertion(insertion.getResult());
+    private LocalizedComponentCache.Entry getLocalized(Locale locale, boolean root) {
+        ConcurrentMap<Locale, LocalizedComponentCache.Entry> components = this.localizedComponents;
+        if (components == null) {
+            components = new ConcurrentHashMap<Locale, LocalizedComponentCache.Entry>(MAX_CACHED_LOCALES, 0.75f, 1);
+            this.localizedComponents = components;
+        }
+        LocalizedComponentCache.Entry entry = components.get(locale);
+        if (entry == null) {
+            if (root && isShareable()) {
+                // An equal text may have been converted already
+                int hash = getTextHash();
+                entry = LocalizedComponentCache.get((Text) (Object) this, hash, locale);
+                if (entry == null) {
+                    entry = LocalizedComponentCache.putIfAbsent((Text) (Object) this, hash, locale,
+                            new LocalizedComponentCache.Entry(buildComponent(locale)));
+                }
+            } else {
+                entry = new LocalizedComponentCache.Entry(buildComponent(locale));
+            }
+            if (components.size() >= MAX_CACHED_LOCALES) {
+                components.clear();
             }
+            LocalizedComponentCache.Entry existing = components.putIfAbsent(locale, entry);
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+        return entry;
+    }
+
+    private int getTextHash() {
+        if (!this.textHashed) {
+            this.textHash = hashCode();
+            this.textHashed = true;
+        }
+        return this.textHash;
+    }
+
+    @Override
+    public boolean isShareable() {
+        Boolean shareable = this.shareable;
+        if (shareable == null) {
+            shareable = computeShareable();
+            this.shareable = shareable;
+        }
+        return shareable;
+    }
 
-            for (Text child : this.children) {
-                component.appendSibling(((IMixinText) child).toComponent(locale));
+    private boolean computeShareable() {
+        if (this.hoverAction.isPresent()) {
+            HoverAction<?> hoverAction = this.hoverAction.get();
+            if (!(hoverAction instanceof HoverAction.ShowText) || !((IMixinText) ((HoverAction.ShowText) hoverAction).getResult()).isShareable()) {
+                return false;
             }
-            this.localizedComponents.put(locale, component);
         }
-        return component;
+        if (!isContentShareable()) {
+            return false;
+        }
+        for (Text child : this.children) {
+            if (!((IMixinText) child).isShareable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets whether the content specific to the type of this text can be
+     * shared with equal texts.
+     *
+     * @return Whether the content can be shared
+     */
+    protected boolean isContentShareable() {
+        return true;
     }
 
     private IChatComponent getHandle(Locale locale) {
-        return initializeComponent(locale);
+        return getLocalized(locale, true).getComponent();
     }
 
     @Override
@@ -118,6 +195,11 @@ public IChatComponent toComponent(Locale locale) {
         return getHandle(locale).createCopy(); // Mutable instances are not nice :(
     }
 
+    @Override
+    public IChatComponent toChildComponent(Locale locale) {
+        return getLocalized(locale, false).getComponent().createCopy();
+    }
+
     @Override
     public String toPlain(Locale locale) {
         return ((IMixinChatComponent) getHandle(locale)).toPlain();
@@ -125,11 +207,7 @@ public String toPlain(Locale locale) {
 
     @Override
     public String toJson(Locale locale) {
-        if (this.json == null) {
-            this.json = IChatComponent.Serializer.componentToJson(getHandle(locale));
-        }
-
-        return this.json;
+        return getLocalized(locale, true).getJson();
     }
 
     @Override
@@ -36,6 +36,12 @@ public abstract class MixinTextScore extends MixinText {
     @Shadow protected Score score;
     @Shadow protected Optional<String> override;
 
+    @Override
+    protected boolean isContentShareable() {
+        // The score changes
+        return false;
+    }
+
     /*@Override
     protected ChatComponentStyle createComponent(Locale locale) {
         ChatComponentScore component = new ChatComponentScore(null, null); // TODO
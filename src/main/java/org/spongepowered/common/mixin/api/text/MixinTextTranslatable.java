@@ -51,12 +51,27 @@ protected ChatComponentStyle createComponent(Locale locale) {
         return ret;
     }
 
+    @Override
+    protected boolean isContentShareable() {
+        for (Object arg : this.arguments) {
+            if (arg instanceof IMixinText) {
+                if (!((IMixinText) arg).isShareable()) {
+                    return false;
+                }
+            } else if (!(arg instanceof String || arg instanceof Number || arg instanceof Boolean || arg instanceof Character)) {
+                // Other arguments may change after the text was created
+                return false;
+            }
+        }
+        return true;
+    }
+
     private Object[] unwrapArguments(ImmutableList<Object> args, Locale locale) {
         Object[] ret = new Object[args.size()];
         for (int i = 0; i < args.size(); ++i) {
             final Object arg = args.get(i);
             if (arg instanceof IMixinText) {
-                ret[i] = ((IMixinText) arg).toComponent(locale);
+                ret[i] = ((IMixinText) arg).toChildComponent(locale);
             } else {
                 ret[i] = arg;
             }
@@ -78,6 +78,20 @@ private void onOnUpdateAge(CallbackInfo ci) {
         }
     }
 
+    @Override
+    public void inactiveTick() {
+        // Mirrors the timers of EntityItem.onUpdate
+        if (this.delayBeforeCanPickup > 0 && this.delayBeforeCanPickup != MAGIC_INFINITE_PICKUP_DELAY) {
+            --this.delayBeforeCanPickup;
+        }
+        if (this.age != MAGIC_INFINITE_DESPAWN_TIME) {
+            ++this.age;
+        }
+        if (!this.worldObj.isRemote && this.age >= 6000) {
+            this.setDead();
+        }
+    }
+
     public int getPickupDelay() {
         if (this.delayBeforeCanPickup == MAGIC_INFINITE_PICKUP_DELAY) {
             // There are two cases when -1 should be returned:
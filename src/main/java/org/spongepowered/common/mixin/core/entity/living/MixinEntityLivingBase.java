@@ -71,6 +71,7 @@ public abstract class MixinEntityLivingBase extends MixinEntity implements Livin
     @Shadow public CombatTracker _combatTracker;
     @Shadow public EntityLivingBase entityLivingToAttack;
     @Shadow protected float lastDamage;
+    @Shadow protected int entityAge;
     @Shadow protected EntityPlayer attackingPlayer;
     @Shadow public abstract void setHealth(float health);
     @Shadow public abstract void addPotionEffect(net.minecraft.potion.PotionEffect potionEffect);
@@ -89,6 +90,13 @@ public abstract class MixinEntityLivingBase extends MixinEntity implements Livin
 
     private int maxAir = 300;
 
+    @Override
+    public void inactiveTick() {
+        super.inactiveTick();
+        // Keeps the idle timer used for despawning running
+        ++this.entityAge;
+    }
+
     public void setLastAttacker(@Nullable Living lastAttacker) {
         setLastAttacker((EntityLivingBase) lastAttacker);
     }
@@ -47,6 +47,8 @@ public abstract class MixinEntityArrow extends MixinEntity implements Arrow {
     @Shadow public double damage;
     @Shadow public int knockbackStrength;
     @Shadow public Entity shootingEntity;
+    @Shadow public boolean inGround;
+    @Shadow private int ticksInGround;
     @Shadow public abstract boolean getIsCritical();
     @Shadow public abstract void setIsCritical(boolean critical);
 
@@ -76,6 +78,14 @@ public void setShooter(ProjectileSource shooter) {
         this.projectileSource = shooter;
     }
 
+    @Override
+    public void inactiveTick() {
+        // Arrows stuck in a block still have to despawn
+        if (this.inGround && ++this.ticksInGround >= 1200) {
+            this.setDead();
+        }
+    }
+
     public double getDamage() {
         return this.damage;
     }
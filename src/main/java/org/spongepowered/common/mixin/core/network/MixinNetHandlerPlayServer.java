@@ -71,6 +71,7 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.event.SpongeImplEventFactory;
 import org.spongepowered.common.interfaces.IMixinNetworkManager;
 import org.spongepowered.common.text.SpongeTexts;
@@ -259,6 +260,12 @@ public void setPlayerLocation(double x, double y, double z, float yaw, float pit
 
     @Inject(method = "processPlayer", at = @At(value = "FIELD", target = "net.minecraft.network.NetHandlerPlayServer.hasMoved:Z", ordinal = 2), cancellable = true)
     public void proccesPlayerMoved(C03PacketPlayer packetIn, CallbackInfo ci){
+        if (!((SpongeEventManager) Sponge.getGame().getEventManager()).hasHandlers(PlayerMoveEvent.class)) {
+            // Nobody is listening, forget the last location so that the next
+            // event is computed from the player's actual location
+            this.lastMoveLocation = null;
+            return;
+        }
         if (packetIn.isMoving() || packetIn.getRotating() && !this.playerEntity.isDead) {
             Player player = (Player) this.playerEntity;
             Vector3d fromrot = player.getRotation();
@@ -26,6 +26,8 @@
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ListenableFuture;
 import net.minecraft.profiler.Profiler;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.ServerConfigurationManager;
@@ -62,16 +64,24 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.Sponge;
 import org.spongepowered.common.event.SpongeImplEventFactory;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
+import org.spongepowered.common.interfaces.IMixinServerConfigurationManager;
 import org.spongepowered.common.interfaces.IMixinSubject;
 import org.spongepowered.common.interfaces.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
+import org.spongepowered.common.service.tick.SpongeTickMetrics;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.sink.SpongeMessageSinkFactory;
+import org.spongepowered.common.world.AsyncChunkLoader;
 import org.spongepowered.common.world.DimensionManager;
+import org.spongepowered.common.world.LevelDataLoader;
 import org.spongepowered.common.world.SpongeDimensionType;
+import org.spongepowered.common.world.gen.CustomChunkProviderGenerate;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.io.File;
@@ -81,7 +91,9 @@
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @NonnullByDefault
 @Mixin(MinecraftServer.class)
@@ -123,6 +135,17 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, IMi
     private final MessageSink broadcastSink = SpongeMessageSinkFactory.INSTANCE.toAll();
     private MessageSink sourceSink = this.broadcastSink;
 
+    @Inject(method = "tick()V", at = @At("HEAD"))
+    public void onTick(CallbackInfo ci) {
+        SpongeTickMetrics.getInstance().onServerTick();
+    }
+
+    @Inject(method = "stopServer()V", at = @At("RETURN"))
+    public void onServerStopped(CallbackInfo ci) {
+        // The worlds are saved, nothing is left to generate
+        CustomChunkProviderGenerate.shutdownGenerationExecutor();
+    }
+
     @Override
     public Optional<World> loadWorld(UUID uuid) {
         String worldFolder = Sponge.getSpongeRegistry().getWorldFolder(uuid);
@@ -183,12 +206,11 @@ public boolean getOnlineMode() {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Collection<Player> getOnlinePlayers() {
-        if (getConfigurationManager() == null || getConfigurationManager().playerEntityList == null) {
+        if (getConfigurationManager() == null) {
             return ImmutableList.of();
         }
-        return ImmutableList.copyOf((List<Player>) getConfigurationManager().playerEntityList);
+        return ((IMixinServerConfigurationManager) getConfigurationManager()).getPlayerSnapshot();
     }
 
     @Override
@@ -296,6 +318,10 @@ protected void loadAllWorlds(String overworldFolder, String unused, long seed, W
         List<Integer> idList = new LinkedList<Integer>(Arrays.asList(DimensionManager.getStaticDimensionIDs()));
         idList.remove(Integer.valueOf(0));
         idList.add(0, 0); // load overworld first
+
+        // Resolving the world folders touches the registry, so it happens
+        // here before any level data is read
+        Map<Integer, String> worldFolders = Maps.newLinkedHashMap();
         for (int dim : idList) {
             WorldProvider provider = WorldProvider.getProviderForDimension(dim);
             String worldFolder;
@@ -313,19 +339,36 @@ protected void loadAllWorlds(String overworldFolder, String unused, long seed, W
                     Sponge.getSpongeRegistry().registerWorldDimensionId(dim, worldFolder);
                 }
             }
+            worldFolders.put(dim, worldFolder);
+        }
 
-            WorldInfo worldInfo;
-            WorldSettings newWorldSettings ;
+        Map<Integer, AnvilSaveHandler> saveHandlers = Maps.newHashMap();
+        LevelDataLoader levelDataLoader = new LevelDataLoader(worldFolders.size());
+        for (Map.Entry<Integer, String> entry : worldFolders.entrySet()) {
+            int dim = entry.getKey();
             AnvilSaveHandler worldsavehandler;
-
             if (Sponge.getGame().getPlatform().getType() == Platform.Type.CLIENT) {
                 worldsavehandler =
                         new AnvilSaveHandler(dim == 0 ? Sponge.getGame().getSavesDirectory() :
-                                new File(Sponge.getGame().getSavesDirectory() + File.separator + getFolderName()), worldFolder, true);
+                                new File(Sponge.getGame().getSavesDirectory() + File.separator + getFolderName()), entry.getValue(), true);
             } else {
-                worldsavehandler = new AnvilSaveHandler(new File(dim == 0 ? "." : getFolderName()), worldFolder, true);
+                worldsavehandler = new AnvilSaveHandler(new File(dim == 0 ? "." : getFolderName()), entry.getValue(), true);
             }
-            worldInfo = worldsavehandler.loadWorldInfo();
+            saveHandlers.put(dim, worldsavehandler);
+            levelDataLoader.read(dim, worldsavehandler);
+        }
+        levelDataLoader.shutdown();
+
+        for (Map.Entry<Integer, String> entry : worldFolders.entrySet()) {
+            int dim = entry.getKey();
+            String worldFolder = entry.getValue();
+            WorldProvider provider = WorldProvider.getProviderForDimension(dim);
+
+            WorldInfo worldInfo;
+            WorldSettings newWorldSettings ;
+            AnvilSaveHandler worldsavehandler = saveHandlers.get(dim);
+            worldInfo = levelDataLoader.get(dim);
+            long startTime = System.nanoTime();
 
             if (worldInfo == null) {
                 newWorldSettings = new WorldSettings(seed, this.getGameType(), this.canStructuresSpawn(), this.isHardcore(), type);
@@ -370,6 +413,8 @@ protected void loadAllWorlds(String overworldFolder, String unused, long seed, W
             Sponge.getSpongeRegistry().registerWorldProperties((WorldProperties) worldInfo);
             Sponge.getGame().getEventManager().post(SpongeImplEventFactory.createWorldLoad(Sponge.getGame(), (org.spongepowered.api.world.World)
                     world));
+            logger.info("Loaded level {} (dimension {}): level data read in {} ms, set up in {} ms", worldFolder, dim,
+                    levelDataLoader.getReadMillis(dim), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
         }
 
         this.serverConfigManager.setPlayerManager(new WorldServer[]{DimensionManager.getWorldFromDimId(0)});
@@ -379,37 +424,53 @@ protected void loadAllWorlds(String overworldFolder, String unused, long seed, W
 
     @Overwrite
     protected void initialWorldChunkLoad() {
+        // Start reading the spawn areas of all worlds at once, so the region
+        // files of the next world are read while this one is loading
+        Map<WorldServer, List<ListenableFuture<Boolean>>> spawnAreaReads = Maps.newLinkedHashMap();
         for (WorldServer worldserver : DimensionManager.getWorlds()) {
             WorldProperties worldProperties = ((World) worldserver).getProperties();
             if (worldProperties.doesKeepSpawnLoaded()) {
-                prepareSpawnArea(worldserver);
+                spawnAreaReads.put(worldserver, AsyncChunkLoader.readSpawnAreaAhead(worldserver));
             }
         }
 
+        for (Map.Entry<WorldServer, List<ListenableFuture<Boolean>>> entry : spawnAreaReads.entrySet()) {
+            prepareSpawnArea(entry.getKey(), entry.getValue());
+        }
+
         this.clearCurrentTask();
     }
 
     protected void prepareSpawnArea(WorldServer world) {
+        prepareSpawnArea(world, AsyncChunkLoader.readSpawnAreaAhead(world));
+    }
+
+    private void prepareSpawnArea(WorldServer world, List<ListenableFuture<Boolean>> reads) {
         int i = 0;
         this.setUserMessage("menu.generatingTerrain");
         logger.info("Preparing start region for level " + world.provider.getDimensionId());
         BlockPos blockpos = world.getSpawnPoint();
+        long startTime = System.nanoTime();
         long j = MinecraftServer.getCurrentTimeMillis();
 
-        for (int k = -192; k <= 192 && this.isServerRunning(); k += 16) {
-            for (int l = -192; l <= 192 && this.isServerRunning(); l += 16) {
+        for (int k = -AsyncChunkLoader.SPAWN_RADIUS; k <= AsyncChunkLoader.SPAWN_RADIUS && this.isServerRunning(); k += 16) {
+            for (int l = -AsyncChunkLoader.SPAWN_RADIUS; l <= AsyncChunkLoader.SPAWN_RADIUS && this.isServerRunning(); l += 16) {
                 long i1 = MinecraftServer.getCurrentTimeMillis();
 
                 if (i1 - j > 1000L) {
-                    this.outputPercentRemaining("Preparing spawn area", i * 100 / 625);
+                    this.outputPercentRemaining("Preparing spawn area", i * 100 / reads.size());
                     j = i1;
                 }
 
+                // Only adding the chunk to the world happens on this thread
+                AsyncChunkLoader.awaitRead(reads.get(i));
                 ++i;
                 world.theChunkProviderServer.loadChunk(blockpos.getX() + k >> 4, blockpos.getZ() + l >> 4);
             }
         }
 
+        logger.info("Prepared start region for level {} in {} ms", world.provider.getDimensionId(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
         this.clearCurrentTask();
     }
 
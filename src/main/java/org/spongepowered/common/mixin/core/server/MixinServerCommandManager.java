@@ -47,6 +47,7 @@
 import org.spongepowered.common.command.MinecraftCommandWrapper;
 import org.spongepowered.common.interfaces.IMixinServerCommandManager;
 import org.spongepowered.common.service.permission.SpongePermissionService;
+import org.spongepowered.common.timings.SpongeTimings;
 
 import java.util.Iterator;
 import java.util.List;
@@ -82,7 +83,18 @@ public int executeCommand(ICommandSender sender, String command) {
         CommandSource source = ((CommandSource) sender);
         Game game = Sponge.getGame();
         Optional<CommandResult> resultOpt;
-        if ((resultOpt = game.getCommandDispatcher().process(source, command)).isPresent()) {
+        if (SpongeTimings.isEnabled()) {
+            long start = System.nanoTime();
+            try {
+                resultOpt = game.getCommandDispatcher().process(source, command);
+            } finally {
+                int space = command.indexOf(' ');
+                SpongeTimings.ofCommand((space == -1 ? command : command.substring(0, space)).toLowerCase()).stop(start);
+            }
+        } else {
+            resultOpt = game.getCommandDispatcher().process(source, command);
+        }
+        if (resultOpt.isPresent()) {
             CommandResult result = resultOpt.get();
             updateStat(sender, CommandResultStats.Type.AFFECTED_BLOCKS, result.getAffectedBlocks());
             updateStat(sender, CommandResultStats.Type.AFFECTED_ENTITIES, result.getAffectedEntities());
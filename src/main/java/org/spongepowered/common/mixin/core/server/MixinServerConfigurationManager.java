@@ -26,6 +26,7 @@
 
 import com.flowpowered.math.vector.Vector3d;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.mojang.authlib.GameProfile;
 import io.netty.buffer.Unpooled;
 import net.minecraft.entity.Entity;
@@ -72,12 +73,18 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.Sponge;
 import org.spongepowered.common.event.SpongeImplEventFactory;
 import org.spongepowered.common.interfaces.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
+import org.spongepowered.common.interfaces.IMixinServerConfigurationManager;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
+import org.spongepowered.common.service.permission.UserCollection;
 import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.util.SnapshotList;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
@@ -90,7 +97,7 @@
 
 @NonnullByDefault
 @Mixin(ServerConfigurationManager.class)
-public abstract class MixinServerConfigurationManager {
+public abstract class MixinServerConfigurationManager implements IMixinServerConfigurationManager {
 
     @Shadow private static Logger logger;
     @Shadow private MinecraftServer mcServer;
@@ -106,6 +113,20 @@ public abstract class MixinServerConfigurationManager {
     @Shadow public abstract void playerLoggedIn(EntityPlayerMP playerIn);
     @Shadow public Map<UUID, EntityPlayerMP> uuidToPlayerMap;
 
+    @SuppressWarnings("unchecked")
+    @Inject(method = "<init>", at = @At("RETURN"))
+    public void onConstructed(MinecraftServer server, CallbackInfo ci) {
+        // Players join and leave rarely compared to how often all of them
+        // are listed, so the list is copied on change instead of on read
+        this.playerEntityList = new SnapshotList<EntityPlayerMP>(this.playerEntityList);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public ImmutableList<Player> getPlayerSnapshot() {
+        return (ImmutableList) ((SnapshotList<EntityPlayerMP>) this.playerEntityList).snapshot();
+    }
+
     /**
      * Bridge methods to proxy modified method in Vanilla, nothing in Forge
      */
@@ -396,4 +417,14 @@ public void updateTimeAndWeatherForPlayer(EntityPlayerMP playerIn, WorldServer w
             playerIn.playerNetServerHandler.sendPacket(new S2BPacketChangeGameState(8, worldIn.getThunderStrength(1.0F)));
         }
     }
+
+    @Inject(method = "playerLoggedIn", at = @At("RETURN"))
+    public void onPlayerLoggedIn(EntityPlayerMP playerIn, CallbackInfo ci) {
+        UserCollection.onPlayerJoined((Player) playerIn);
+    }
+
+    @Inject(method = "playerLoggedOut", at = @At("RETURN"))
+    public void onPlayerLoggedOut(EntityPlayerMP playerIn, CallbackInfo ci) {
+        UserCollection.onPlayerLeft((Player) playerIn);
+    }
 }
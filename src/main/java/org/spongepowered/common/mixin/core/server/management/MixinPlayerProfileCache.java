@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.server.management;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.server.management.PlayerProfileCache;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.IMixinPlayerProfileCache;
+import org.spongepowered.common.service.profile.SpongeProfileResolver;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+@NonnullByDefault
+@Mixin(PlayerProfileCache.class)
+public abstract class MixinPlayerProfileCache implements IMixinPlayerProfileCache {
+
+    @Shadow private Map<UUID, PlayerProfileCache.ProfileEntry> uuidToProfileEntryMap;
+
+    // The vanilla maps are plain hash maps changed by the server thread, so
+    // other threads read these copies of the entries instead
+    private final ConcurrentMap<String, PlayerProfileCache.ProfileEntry> entriesByName = Maps.newConcurrentMap();
+    private final ConcurrentMap<UUID, PlayerProfileCache.ProfileEntry> entriesById = Maps.newConcurrentMap();
+
+    @Inject(method = "addEntry(Lcom/mojang/authlib/GameProfile;Ljava/util/Date;)V", at = @At("RETURN"))
+    public void onAddEntryWithExpiration(GameProfile profile, @Nullable Date expirationDate, CallbackInfo ci) {
+        PlayerProfileCache.ProfileEntry entry = this.uuidToProfileEntryMap.get(profile.getId());
+        if (entry == null) {
+            return;
+        }
+        PlayerProfileCache.ProfileEntry previous = this.entriesById.put(profile.getId(), entry);
+        if (previous != null) {
+            this.entriesByName.remove(previous.getGameProfile().getName().toLowerCase(Locale.ROOT), previous);
+        }
+        this.entriesByName.put(profile.getName().toLowerCase(Locale.ROOT), entry);
+    }
+
+    @Inject(method = "addEntry(Lcom/mojang/authlib/GameProfile;)V", at = @At("RETURN"))
+    public void onAddEntry(GameProfile profile, CallbackInfo ci) {
+        SpongeProfileResolver.getInstance().getNameIndex().add(profile);
+    }
+
+    @Override
+    @Nullable
+    public GameProfile getCachedProfile(String name) {
+        return getProfile(this.entriesByName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    @Override
+    @Nullable
+    public GameProfile getCachedProfile(UUID uniqueId) {
+        return getProfile(this.entriesById.get(uniqueId));
+    }
+
+    @Override
+    public Collection<GameProfile> getCachedProfiles() {
+        List<GameProfile> profiles = Lists.newArrayList();
+        for (PlayerProfileCache.ProfileEntry entry : this.entriesById.values()) {
+            GameProfile profile = getProfile(entry);
+            if (profile != null) {
+                profiles.add(profile);
+            }
+        }
+        return profiles;
+    }
+
+    @Nullable
+    private GameProfile getProfile(@Nullable PlayerProfileCache.ProfileEntry entry) {
+        // Expired entries are only removed by the vanilla lookups
+        if (entry == null || new Date().getTime() >= entry.getExpirationDate().getTime()) {
+            return null;
+        }
+        return entry.getGameProfile();
+    }
+
+}
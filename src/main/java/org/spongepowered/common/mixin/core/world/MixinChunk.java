@@ -56,6 +56,7 @@
 import org.spongepowered.common.data.SpongeBlockProcessor;
 import org.spongepowered.common.data.SpongeManipulatorRegistry;
 import org.spongepowered.common.interfaces.block.IMixinBlock;
+import org.spongepowered.common.service.tick.SpongeTickMetrics;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
@@ -109,6 +110,7 @@ public void onConstructed(World world, int x, int z, CallbackInfo ci) {
     @Inject(method = "onChunkLoad()V", at = @At("RETURN"))
     public void onChunkLoadInject(CallbackInfo ci) {
         SpongeHooks.logChunkLoad(this.worldObj, this.chunkPos);
+        SpongeTickMetrics.getInstance().onChunkLoad(this.worldObj.provider.getDimensionId());
     }
 
     @SideOnly(Side.SERVER)
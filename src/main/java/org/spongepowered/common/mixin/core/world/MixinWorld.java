@@ -36,6 +36,8 @@
 import com.google.common.base.Predicates;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityHanging;
 import net.minecraft.entity.boss.EntityDragonPart;
@@ -115,22 +117,29 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.EffectiveConfig;
 import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.data.SpongeBlockProcessor;
 import org.spongepowered.common.data.SpongeManipulatorRegistry;
 import org.spongepowered.common.effect.particle.SpongeParticleEffect;
 import org.spongepowered.common.effect.particle.SpongeParticleHelper;
+import org.spongepowered.common.entity.EntityActivationRange;
+import org.spongepowered.common.interfaces.IMixinEntity;
 import org.spongepowered.common.interfaces.IMixinWorld;
 import org.spongepowered.common.interfaces.IMixinWorldSettings;
 import org.spongepowered.common.interfaces.IMixinWorldType;
 import org.spongepowered.common.interfaces.block.IMixinBlock;
 import org.spongepowered.common.registry.SpongeGameRegistry;
 import org.spongepowered.common.scoreboard.SpongeScoreboard;
+import org.spongepowered.common.timings.SpongeTimings;
+import org.spongepowered.common.timings.Timing;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.AsyncChunkLoader;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
 import org.spongepowered.common.world.gen.CustomChunkProviderGenerate;
@@ -160,13 +169,24 @@ public abstract class MixinWorld implements World, IMixinWorld {
     private static final Vector2i BIOME_SIZE = BIOME_MAX.sub(BIOME_MIN).add(1, 1);
     private boolean keepSpawnLoaded;
     public SpongeConfig<SpongeConfig.WorldConfig> worldConfig;
+    private EffectiveConfig effectiveConfig;
     private volatile Context worldContext;
     private ImmutableList<Populator> populators;
     private ImmutableList<GeneratorPopulator> generatorPopulators;
+    private boolean entityActivationEnabled;
+    private int activeEntityCount;
+    private int inactiveEntityCount;
+    private int lastActiveEntityCount;
+    private int lastInactiveEntityCount;
+    // The start of the tick phase being timed, or 0 if timings are disabled
+    private long phaseStart;
+    private Timing entityTiming;
+    private Timing tileEntityTiming;
 
     protected SpongeScoreboard spongeScoreboard = new SpongeScoreboard();
 
     @Shadow public WorldProvider provider;
+    @Shadow public boolean isRemote;
     @Shadow protected WorldInfo worldInfo;
     @Shadow public Random rand;
     @Shadow public List<net.minecraft.entity.Entity> loadedEntityList;
@@ -227,6 +247,65 @@ public void onGetCollidingBoundingBoxes(net.minecraft.entity.Entity entity, net.
         }
     }
 
+    @Inject(method = "updateEntities()V", at = @At("HEAD"))
+    public void onUpdateEntities(CallbackInfo ci) {
+        this.phaseStart = !this.isRemote && SpongeTimings.isEnabled() ? System.nanoTime() : 0L;
+        this.lastActiveEntityCount = this.activeEntityCount;
+        this.lastInactiveEntityCount = this.inactiveEntityCount;
+        this.activeEntityCount = 0;
+        this.inactiveEntityCount = 0;
+        this.entityActivationEnabled = !this.isRemote && EntityActivationRange.isEnabled();
+        if (this.entityActivationEnabled) {
+            EntityActivationRange.activateEntities((net.minecraft.world.World) (Object) this);
+        }
+    }
+
+    @Inject(method = "updateEntities()V", at = @At(value = "INVOKE_STRING",
+            target = "Lnet/minecraft/profiler/Profiler;endStartSection(Ljava/lang/String;)V", args = "ldc=blockEntities"))
+    public void onUpdateTileEntities(CallbackInfo ci) {
+        if (this.phaseStart != 0L) {
+            if (this.entityTiming == null) {
+                this.entityTiming = SpongeTimings.ofWorld(this.worldInfo.getWorldName(), "Entity Tick");
+            }
+            long now = System.nanoTime();
+            this.entityTiming.record(now - this.phaseStart);
+            this.phaseStart = now;
+        }
+    }
+
+    @Inject(method = "updateEntities()V", at = @At("RETURN"))
+    public void onUpdateEntitiesReturn(CallbackInfo ci) {
+        if (this.phaseStart != 0L) {
+            if (this.tileEntityTiming == null) {
+                this.tileEntityTiming = SpongeTimings.ofWorld(this.worldInfo.getWorldName(), "Tile Entity Tick");
+            }
+            this.tileEntityTiming.stop(this.phaseStart);
+            this.phaseStart = 0L;
+        }
+    }
+
+    @Redirect(method = "updateEntityWithOptionalForce(Lnet/minecraft/entity/Entity;Z)V",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;onUpdate()V"))
+    public void onCallEntityUpdate(net.minecraft.entity.Entity entity) {
+        if (this.entityActivationEnabled && !EntityActivationRange.checkIfActive(entity)) {
+            ++this.inactiveEntityCount;
+            ((IMixinEntity) entity).inactiveTick();
+        } else {
+            ++this.activeEntityCount;
+            entity.onUpdate();
+        }
+    }
+
+    @Override
+    public int getActiveEntityCount() {
+        return this.lastActiveEntityCount;
+    }
+
+    @Override
+    public int getInactiveEntityCount() {
+        return this.lastInactiveEntityCount;
+    }
+
     @Override
     public float getTemperature(Vector3i position) {
         return getTemperature(position.getX(), position.getY(), position.getZ());
@@ -284,6 +363,17 @@ public Optional<Chunk> loadChunk(int x, int y, int z, boolean shouldGenerate) {
         return Optional.fromNullable((Chunk) chunk);
     }
 
+    @Override
+    public ListenableFuture<Optional<Chunk>> loadChunkAsync(int x, int y, int z, boolean shouldGenerate) {
+        if (!SpongeChunkLayout.instance.isValidChunk(x, y, z)) {
+            return Futures.immediateFuture(Optional.<Chunk>absent());
+        }
+        if (!((Object) this instanceof WorldServer)) {
+            return Futures.immediateFailedFuture(new UnsupportedOperationException("Chunks can only be loaded asynchronously on the server"));
+        }
+        return AsyncChunkLoader.loadChunk((WorldServer) (Object) this, x, z, shouldGenerate);
+    }
+
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkBlockBounds(x, y, z);
@@ -537,6 +627,16 @@ public SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig() {
         return this.worldConfig;
     }
 
+    @Override
+    public EffectiveConfig getEffectiveConfig() {
+        EffectiveConfig config = this.effectiveConfig;
+        if (config == null || !config.isCurrent()) {
+            config = new EffectiveConfig(SpongeHooks.getActiveConfig((net.minecraft.world.World) (Object) this));
+            this.effectiveConfig = config;
+        }
+        return config;
+    }
+
     @Override
     public void playSound(SoundType sound, Vector3d position, double volume) {
         this.playSound(sound, position, volume, 1);
@@ -48,6 +48,10 @@
 import org.spongepowered.common.interfaces.IMixinBlockUpdate;
 import org.spongepowered.common.interfaces.IMixinScoreboardSaveData;
 import org.spongepowered.common.interfaces.IMixinWorld;
+import org.spongepowered.common.service.tick.SpongeTickMetrics;
+import org.spongepowered.common.timings.SpongeTimings;
+import org.spongepowered.common.timings.Timing;
+import org.spongepowered.common.world.AsyncChunkLoader;
 
 import java.util.Collection;
 import java.util.Set;
@@ -60,6 +64,35 @@ public abstract class MixinWorldServer extends MixinWorld {
     @Shadow private Set<NextTickListEntry> pendingTickListEntriesHashSet;
     @Shadow private TreeSet<NextTickListEntry> pendingTickListEntriesTreeSet;
 
+    // The start of the timed world tick, or 0 if timings are disabled
+    private long tickStart;
+    private Timing tickTiming;
+
+    @Inject(method = "tick()V", at = @At("HEAD"))
+    public void onTick(CallbackInfo ci) {
+        this.tickStart = SpongeTimings.isEnabled() ? System.nanoTime() : 0L;
+        SpongeTickMetrics.getInstance().startWorldTick(this.provider.getDimensionId());
+        AsyncChunkLoader.tickSpawnArea((WorldServer) (Object) this);
+    }
+
+    @Inject(method = "tick()V", at = @At("RETURN"))
+    public void onTickReturn(CallbackInfo ci) {
+        SpongeTickMetrics.getInstance().endWorldTickPhase(this.provider.getDimensionId());
+        if (this.tickStart != 0L) {
+            if (this.tickTiming == null) {
+                this.tickTiming = SpongeTimings.ofWorld(this.worldInfo.getWorldName(), "World Tick");
+            }
+            this.tickTiming.stop(this.tickStart);
+            this.tickStart = 0L;
+        }
+    }
+
+    @Inject(method = "updateEntities()V", at = @At("RETURN"))
+    public void onUpdateEntitiesTickMetrics(CallbackInfo ci) {
+        // The server updates the entities of a world right after its tick
+        SpongeTickMetrics.getInstance().endWorldTick(this.provider.getDimensionId());
+    }
+
     @Inject(method = "createSpawnPosition(Lnet/minecraft/world/WorldSettings;)V", at = @At("HEAD"), cancellable = true)
     public void onCreateSpawnPosition(WorldSettings settings, CallbackInfo ci) {
         GeneratorType generatorType = (GeneratorType) settings.getTerrainType();
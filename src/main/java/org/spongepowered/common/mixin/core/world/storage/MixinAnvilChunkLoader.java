@@ -0,0 +1,146 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.storage;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.interfaces.IMixinAnvilChunkLoader;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+@NonnullByDefault
+@Mixin(AnvilChunkLoader.class)
+public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
+
+    @Shadow private Map<ChunkCoordIntPair, NBTTagCompound> chunksToRemove;
+    @Shadow private Set<ChunkCoordIntPair> pendingAnvilChunksCoordinates;
+    @Shadow private File chunkSaveLocation;
+
+    @Shadow
+    protected abstract Chunk checkedReadChunkFromNBT(World worldIn, int x, int z, NBTTagCompound compound);
+
+    // Both guarded by chunksReadAhead
+    private final Map<ChunkCoordIntPair, NBTTagCompound> chunksReadAhead = Maps.newHashMap();
+    private final Set<ChunkCoordIntPair> readsInProgress = Sets.newHashSet();
+
+    @Override
+    public boolean readChunkAhead(int chunkX, int chunkZ) throws IOException {
+        ChunkCoordIntPair pos = new ChunkCoordIntPair(chunkX, chunkZ);
+        synchronized (this.chunksReadAhead) {
+            if (this.chunksReadAhead.containsKey(pos)) {
+                return true;
+            }
+            this.readsInProgress.add(pos);
+        }
+
+        NBTTagCompound compound = null;
+        try {
+            if (isSavePending(pos)) {
+                // The regular load picks up the data waiting to be written
+                return true;
+            }
+            DataInputStream inputStream = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, chunkX, chunkZ);
+            if (inputStream == null) {
+                return false;
+            }
+            try {
+                compound = CompressedStreamTools.read(inputStream);
+            } finally {
+                inputStream.close();
+            }
+            return true;
+        } finally {
+            synchronized (this.chunksReadAhead) {
+                // Data read while the chunk was being saved is stale
+                if (this.readsInProgress.remove(pos) && compound != null) {
+                    this.chunksReadAhead.put(pos, compound);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isChunkSaved(int chunkX, int chunkZ) {
+        ChunkCoordIntPair pos = new ChunkCoordIntPair(chunkX, chunkZ);
+        if (isSavePending(pos)) {
+            return true;
+        }
+        synchronized (this.chunksReadAhead) {
+            if (this.chunksReadAhead.containsKey(pos)) {
+                return true;
+            }
+        }
+        // Loading the region file of a missing region would create it
+        File regionFile = new File(new File(this.chunkSaveLocation, "region"), "r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca");
+        return regionFile.exists() && RegionFileCache.createOrLoadRegionFile(this.chunkSaveLocation, chunkX, chunkZ)
+                .isChunkSaved(chunkX & 31, chunkZ & 31);
+    }
+
+    private boolean isSavePending(ChunkCoordIntPair pos) {
+        return this.chunksToRemove.containsKey(pos) || this.pendingAnvilChunksCoordinates.contains(pos);
+    }
+
+    @Inject(method = "loadChunk", at = @At("HEAD"), cancellable = true)
+    public void onLoadChunk(World worldIn, int x, int z, CallbackInfoReturnable<Chunk> cir) {
+        ChunkCoordIntPair pos = new ChunkCoordIntPair(x, z);
+        NBTTagCompound compound;
+        synchronized (this.chunksReadAhead) {
+            if (this.chunksReadAhead.isEmpty()) {
+                return;
+            }
+            compound = this.chunksReadAhead.remove(pos);
+        }
+        if (compound != null && !isSavePending(pos)) {
+            cir.setReturnValue(checkedReadChunkFromNBT(worldIn, x, z, compound));
+        }
+    }
+
+    @Inject(method = "addChunkToPending", at = @At("RETURN"))
+    public void onAddChunkToPending(ChunkCoordIntPair pos, NBTTagCompound compound, CallbackInfo ci) {
+        synchronized (this.chunksReadAhead) {
+            this.chunksReadAhead.remove(pos);
+            this.readsInProgress.remove(pos);
+        }
+    }
+
+}
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.world.storage;
 
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.storage.SaveHandler;
@@ -38,6 +39,7 @@
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.Sponge;
 import org.spongepowered.common.interfaces.IMixinWorldInfo;
+import org.spongepowered.common.service.user.PlayerDataIndex;
 import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
@@ -86,6 +88,11 @@ public void onSaveWorldInfoEnd(WorldInfo worldInformation, CallbackInfo ci) {
         saveSpongeDatData(worldInformation);
     }
 
+    @Inject(method = "writePlayerData", at = @At("RETURN"))
+    public void onWritePlayerData(EntityPlayer player, CallbackInfo ci) {
+        PlayerDataIndex.onSaved(((SaveHandler) (Object) this).playersDirectory, player.getUniqueID());
+    }
+
     private void loadSpongeDatData(WorldInfo info) throws IOException {
         final File spongeFile = new File(this.worldDirectory, "level_sponge.dat");
         final File spongeOldFile = new File(this.worldDirectory, "level_sponge.dat_old");
@@ -356,7 +356,7 @@ public UUID getUniqueId() {
 
     @Override
     public DataContainer toContainer() {
-        return NbtTranslator.getInstance().translateFrom(getNBTTagCompound());
+        return NbtTranslator.getInstance().translateFromLazily(getNBTTagCompound());
     }
 
     @Override
@@ -416,7 +416,7 @@ public DataContainer getGeneratorSettings() {
         // Parse the world generator settings as JSON
         try {
             NBTTagCompound nbt = JsonToNBT.getTagFromJson(this.generatorOptions);
-            return NbtTranslator.getInstance().translateFrom(nbt);
+            return NbtTranslator.getInstance().translateFromLazily(nbt);
         } catch (NBTException ignored) {
         }
         return new MemoryDataContainer().set(DataQuery.of("customSettings"), this.generatorOptions);
@@ -475,7 +475,7 @@ public void readSpongeNbt(NBTTagCompound nbt) {
     public DataContainer getAdditionalProperties() {
         NBTTagCompound additionalProperties = (NBTTagCompound) this.spongeRootLevelNbt.copy();
         additionalProperties.removeTag(Sponge.ECOSYSTEM_NAME);
-        return NbtTranslator.getInstance().translateFrom(additionalProperties);
+        return NbtTranslator.getInstance().translateFromLazily(additionalProperties);
     }
 
     @Override
@@ -60,9 +60,11 @@ public Subject get(String identifier) {
         checkNotNull(identifier, "identifier");
         SpongeSubject ret = this.subjects.get(identifier);
         if (ret == null) {
-            SpongeSubject newRet = this.subjects.putIfAbsent(identifier, new DataFactorySubject(identifier, this.dataFactory.apply(identifier)));
-            if (newRet != null) {
-                ret = newRet;
+            SpongeSubject newSubject = new DataFactorySubject(identifier, this.dataFactory.apply(identifier));
+            ret = this.subjects.putIfAbsent(identifier, newSubject);
+            if (ret == null) {
+                ret = newSubject;
+                onSubjectAdded(newSubject);
             }
         }
         return ret;
@@ -110,8 +112,8 @@ public MemorySubjectData getSubjectData() {
         }
 
         @Override
-        public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-            Tristate ret = super.getPermissionValue(contexts, permission);
+        protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+            Tristate ret = super.resolvePermissionValue(contexts, permission);
             if (ret == Tristate.UNDEFINED) {
                 ret = getDataPermissionValue(DataFactoryCollection.this.service.getDefaultData(), permission);
             }
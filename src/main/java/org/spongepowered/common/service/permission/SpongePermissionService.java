@@ -41,6 +41,7 @@
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Permission service representing the vanilla operator permission structure.
@@ -55,6 +56,10 @@ public CommandSource apply(String s) {
         }
     };
 
+    // Changed whenever something that permission checks depend on changes,
+    // which invalidates the permissions resolved by all subjects
+    private static final AtomicLong permissionsVersion = new AtomicLong();
+
     private final ConcurrentMap<String, SubjectCollection> subjects = new ConcurrentHashMap<String, SubjectCollection>();
     private final MemorySubjectData defaultData;
 
@@ -89,6 +94,24 @@ public CommandSource apply(String s) {
         this.defaultData = new FixedParentMemorySubjectData(this, getGroupForOpLevel(0));
     }
 
+    /**
+     * Gets the current version of the permission data. Permission values
+     * resolved with an older version are outdated.
+     *
+     * @return The version of the permission data
+     */
+    public static long getPermissionsVersion() {
+        return permissionsVersion.get();
+    }
+
+    /**
+     * Marks all resolved permission values as outdated. Called when subject
+     * data, parents or the ops list change.
+     */
+    public static void invalidateResolvedPermissions() {
+        permissionsVersion.incrementAndGet();
+    }
+
     static UserListOps getOps() {
         return MinecraftServer.getServer().getConfigurationManager().getOppedPlayers();
     }
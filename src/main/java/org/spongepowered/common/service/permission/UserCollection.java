@@ -24,7 +24,9 @@
  */
 package org.spongepowered.common.service.permission;
 
+import com.google.common.base.Optional;
 import com.mojang.authlib.GameProfile;
+import org.spongepowered.api.entity.player.Player;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.common.Sponge;
@@ -33,6 +35,8 @@
 
 import java.util.UUID;
 
+import javax.annotation.Nullable;
+
 /**
  * User collection keeping track of opped users.
  */
@@ -100,4 +104,39 @@ public Subject apply(Object input) {
     public SpongePermissionService getService() {
         return this.service;
     }
+
+    /**
+     * Called when a player joined, to add it to the subjects of the user
+     * collection of the permission service.
+     *
+     * @param player The player that joined
+     */
+    public static void onPlayerJoined(Player player) {
+        UserCollection users = getActiveUsers();
+        if (users != null) {
+            users.onSubjectAdded(player);
+        }
+    }
+
+    /**
+     * Called when a player left, to remove it from the subjects of the user
+     * collection of the permission service.
+     *
+     * @param player The player that left
+     */
+    public static void onPlayerLeft(Player player) {
+        UserCollection users = getActiveUsers();
+        if (users != null) {
+            users.onSubjectRemoved(player);
+        }
+    }
+
+    @Nullable
+    private static UserCollection getActiveUsers() {
+        Optional<PermissionService> service = Sponge.getGame().getServiceManager().provide(PermissionService.class);
+        if (service.isPresent() && service.get() instanceof SpongePermissionService) {
+            return (UserCollection) service.get().getUserSubjects();
+        }
+        return null;
+    }
 }
@@ -30,6 +30,7 @@
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.context.Context;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.util.List;
 import java.util.Map;
@@ -57,7 +58,12 @@ public boolean setPermission(Set<Context> contexts, String permission, Tristate
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.setPermission(contexts, permission, value);
+        return invalidateIf(super.setPermission(contexts, permission, value));
+    }
+
+    @Override
+    public boolean clearPermissions() {
+        return invalidateIf(super.clearPermissions());
     }
 
     @Override
@@ -65,7 +71,7 @@ public boolean clearPermissions(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearPermissions(contexts);
+        return invalidateIf(super.clearPermissions(contexts));
     }
 
     @Override
@@ -73,7 +79,7 @@ public boolean addParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.addParent(contexts, parent);
+        return invalidateIf(super.addParent(contexts, parent));
     }
 
     @Override
@@ -81,7 +87,7 @@ public boolean removeParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.removeParent(contexts, parent);
+        return invalidateIf(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -89,6 +95,25 @@ public boolean clearParents(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearParents(contexts);
+        return invalidateIf(super.clearParents(contexts));
+    }
+
+    @Override
+    public boolean clearParents() {
+        return invalidateIf(super.clearParents());
+    }
+
+    /**
+     * Invalidates the resolved permissions of all subjects if the data was
+     * changed.
+     *
+     * @param changed Whether the data was changed
+     * @return Whether the data was changed
+     */
+    protected static boolean invalidateIf(boolean changed) {
+        if (changed) {
+            SpongePermissionService.invalidateResolvedPermissions();
+        }
+        return changed;
     }
 }
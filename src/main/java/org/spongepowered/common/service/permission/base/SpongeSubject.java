@@ -33,9 +33,16 @@
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public abstract class SpongeSubject implements Subject {
+    // Limits the resolved values kept for subjects checked against many
+    // generated permissions, cleared when reached
+    private static final int MAX_RESOLVED_PERMISSIONS = 1024;
+
     private final SpongePermissionService service;
+    private volatile ResolvedPermissions resolved = new ResolvedPermissions(-1);
 
     protected SpongeSubject(SpongePermissionService service) {
         this.service = service;
@@ -63,8 +70,44 @@ public boolean hasPermission(String permission) {
         return hasPermission(getActiveContexts(), permission);
     }
 
+    /**
+     * Gets the value of a permission, resolved through the parents and
+     * defaults of this subject. Resolved values are kept until any permission
+     * data changes.
+     *
+     * <p>This service only supports the global context, so the values don't
+     * depend on the given contexts.</p>
+     */
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        long version = SpongePermissionService.getPermissionsVersion();
+        ResolvedPermissions resolved = this.resolved;
+        if (resolved.version != version) {
+            resolved = new ResolvedPermissions(version);
+            this.resolved = resolved;
+        }
+        Tristate res = resolved.values.get(permission);
+        if (res == null) {
+            res = resolvePermissionValue(contexts, permission);
+            // Don't keep a value resolved while the data changed
+            if (SpongePermissionService.getPermissionsVersion() == version) {
+                if (resolved.values.size() >= MAX_RESOLVED_PERMISSIONS) {
+                    resolved.values.clear();
+                }
+                resolved.values.put(permission, res);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Resolves the value of a permission without using the resolved values.
+     *
+     * @param contexts The contexts to check in
+     * @param permission The permission to check
+     * @return The value of the permission
+     */
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
         return getDataPermissionValue(getSubjectData(), permission);
     }
 
@@ -107,4 +150,13 @@ public List<Subject> getParents(Set<Context> contexts) {
     public Set<Context> getActiveContexts() {
         return SubjectData.GLOBAL_CONTEXT;
     }
+
+    private static final class ResolvedPermissions {
+        final long version;
+        final ConcurrentMap<String, Tristate> values = new ConcurrentHashMap<String, Tristate>();
+
+        ResolvedPermissions(long version) {
+            this.version = version;
+        }
+    }
 }
@@ -24,18 +24,33 @@
  */
 package org.spongepowered.common.service.permission.base;
 
+import com.google.common.collect.ImmutableMap;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
 import org.spongepowered.api.service.permission.context.Context;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class SpongeSubjectCollection implements SubjectCollection {
+    // Limits the permissions indexed for plugins checking many generated
+    // permissions, the index is cleared when reached
+    private static final int MAX_INDEXED_PERMISSIONS = 256;
+
     private final String identifier;
+    // The subjects with a value for each permission looked up through
+    // getAllWithPermission, kept until any permission data changes
+    private final ConcurrentMap<String, ConcurrentMap<Subject, Boolean>> permissionIndex =
+            new ConcurrentHashMap<String, ConcurrentMap<Subject, Boolean>>();
+    private final AtomicLong subjectsVersion = new AtomicLong();
+    private volatile long indexedPermissionsVersion = -1;
 
     protected SpongeSubjectCollection(String identifier) {
         this.identifier = identifier;
@@ -48,14 +63,62 @@ public String getIdentifier() {
 
     @Override
     public Map<Subject, Boolean> getAllWithPermission(String permission) {
-        final Map<Subject, Boolean> ret = new HashMap<Subject, Boolean>();
-        for (Subject subj : getAllSubjects()) {
-            Tristate state = subj.getPermissionValue(subj.getActiveContexts(), permission);
-            if (state != Tristate.UNDEFINED) {
-                ret.put(subj, state.asBoolean());
+        long permissionsVersion = SpongePermissionService.getPermissionsVersion();
+        if (permissionsVersion != this.indexedPermissionsVersion) {
+            this.permissionIndex.clear();
+            this.indexedPermissionsVersion = permissionsVersion;
+        }
+        Map<Subject, Boolean> ret = this.permissionIndex.get(permission);
+        if (ret == null) {
+            long subjectsVersion = this.subjectsVersion.get();
+            ConcurrentMap<Subject, Boolean> indexed = new ConcurrentHashMap<Subject, Boolean>();
+            for (Subject subj : getAllSubjects()) {
+                addIfSet(indexed, subj, permission);
+            }
+            ret = indexed;
+            // Subjects added or removed while looking them up may be missing
+            if (SpongePermissionService.getPermissionsVersion() == permissionsVersion && this.subjectsVersion.get() == subjectsVersion) {
+                if (this.permissionIndex.size() >= MAX_INDEXED_PERMISSIONS) {
+                    this.permissionIndex.clear();
+                }
+                this.permissionIndex.put(permission, indexed);
             }
         }
-        return Collections.unmodifiableMap(ret);
+        // The index keeps changing, callers get the subjects at this point
+        return ImmutableMap.copyOf(ret);
+    }
+
+    private static void addIfSet(Map<Subject, Boolean> indexed, Subject subj, String permission) {
+        Tristate state = subj.getPermissionValue(subj.getActiveContexts(), permission);
+        if (state != Tristate.UNDEFINED) {
+            indexed.put(subj, state.asBoolean());
+        }
+    }
+
+    /**
+     * Adds a subject that was added to this collection to the indexed
+     * permissions.
+     *
+     * @param subject The added subject
+     */
+    protected void onSubjectAdded(Subject subject) {
+        this.subjectsVersion.incrementAndGet();
+        for (Map.Entry<String, ConcurrentMap<Subject, Boolean>> entry : this.permissionIndex.entrySet()) {
+            addIfSet(entry.getValue(), subject, entry.getKey());
+        }
+    }
+
+    /**
+     * Removes a subject that was removed from this collection from the
+     * indexed permissions.
+     *
+     * @param subject The removed subject
+     */
+    protected void onSubjectRemoved(Subject subject) {
+        this.subjectsVersion.incrementAndGet();
+        for (ConcurrentMap<Subject, Boolean> indexed : this.permissionIndex.values()) {
+            indexed.remove(subject);
+        }
     }
 
     @Override
@@ -0,0 +1,537 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.MemoryDataContainer;
+import org.spongepowered.api.service.persistence.SerializationService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataContainer} that reads values straight from an
+ * {@link NBTTagCompound} until it is written to.
+ *
+ * <p>Reads of single values look the tag up in the compound and convert only
+ * that tag. Typed reads convert the value through a {@link MemoryDataContainer}
+ * holding just that value, so they give the same results as the translated
+ * container. Writes, views and reads of the whole structure translate the
+ * compound into a {@link MemoryDataContainer} once, which answers everything
+ * from then on. The compound itself is never written to.</p>
+ *
+ * <p>Views of the translated container are handed out wrapped, so that they
+ * report this container as theirs.</p>
+ *
+ * <p>Like {@link MemoryDataContainer}, containers are only equal to
+ * containers of their own class, compared by their translated values.</p>
+ */
+final class LazyNbtContainer implements DataContainer {
+
+    // Answers typed reads of missing values, never written to
+    private static final DataContainer EMPTY = new MemoryDataContainer();
+
+    // Null once the compound has been translated
+    @Nullable private NBTTagCompound compound;
+    @Nullable private DataContainer container;
+
+    LazyNbtContainer(NBTTagCompound compound) {
+        this.compound = checkNotNull(compound, "compound");
+    }
+
+    private DataContainer translated() {
+        if (this.container == null) {
+            this.container = NbtTranslator.getViewFromCompound(this.compound);
+            this.compound = null;
+        }
+        return this.container;
+    }
+
+    /**
+     * Gets the tag at the path, or null if there is none.
+     */
+    @Nullable
+    private static NBTBase getTag(NBTTagCompound compound, DataQuery path) {
+        List<String> parts = path.getParts();
+        if (parts.isEmpty()) {
+            return null;
+        }
+        NBTTagCompound parent = compound;
+        for (int i = 0; i < parts.size() - 1; i++) {
+            NBTBase base = parent.getTag(parts.get(i));
+            if (base == null || base.getId() != 10) {
+                return null;
+            }
+            parent = (NBTTagCompound) base;
+        }
+        return parent.getTag(parts.get(parts.size() - 1));
+    }
+
+    /**
+     * Gets a view holding the value at the path at the same path, to read it
+     * with the conversions of {@link MemoryDataContainer}.
+     */
+    private DataView getHolder(DataQuery path) {
+        checkNotNull(path, "path");
+        if (this.compound == null) {
+            return this.container;
+        }
+        NBTBase base = getTag(this.compound, path);
+        if (base == null) {
+            return EMPTY;
+        } else if (base.getId() == 10) {
+            return translated();
+        }
+        return new MemoryDataContainer().set(path, NbtTranslator.fromTagBase(base, base.getId()));
+    }
+
+    @Nullable
+    private DataView wrap(@Nullable DataView view) {
+        return view == null || view instanceof ContainedView ? view : new ContainedView(view);
+    }
+
+    private Optional<DataView> wrap(Optional<DataView> view) {
+        return view.isPresent() ? Optional.of(wrap(view.get())) : view;
+    }
+
+    private Optional<List<DataView>> wrapList(Optional<List<DataView>> views) {
+        if (!views.isPresent()) {
+            return views;
+        }
+        List<DataView> wrapped = Lists.newArrayListWithCapacity(views.get().size());
+        for (DataView view : views.get()) {
+            wrapped.add(wrap(view));
+        }
+        return Optional.of(wrapped);
+    }
+
+    private Optional<Object> wrapValue(Optional<Object> value) {
+        return value.isPresent() && value.get() instanceof DataView ? Optional.<Object>of(wrap((DataView) value.get())) : value;
+    }
+
+    @Override
+    public DataContainer getContainer() {
+        return this;
+    }
+
+    @Override
+    public DataQuery getCurrentPath() {
+        return translated().getCurrentPath();
+    }
+
+    @Override
+    public String getName() {
+        return translated().getName();
+    }
+
+    @Override
+    public Optional<DataView> getParent() {
+        return translated().getParent();
+    }
+
+    @Override
+    public Set<DataQuery> getKeys(boolean deep) {
+        return translated().getKeys(deep);
+    }
+
+    @Override
+    public Map<DataQuery, Object> getValues(boolean deep) {
+        return translated().getValues(deep);
+    }
+
+    @Override
+    public boolean contains(DataQuery path) {
+        checkNotNull(path, "path");
+        return this.compound == null ? this.container.contains(path) : getTag(this.compound, path) != null;
+    }
+
+    @Override
+    public Optional<Object> get(DataQuery path) {
+        return wrapValue(getHolder(path).get(path));
+    }
+
+    @Override
+    public DataContainer set(DataQuery path, Object value) {
+        translated().set(path, value);
+        return this;
+    }
+
+    @Override
+    public DataContainer remove(DataQuery path) {
+        translated().remove(path);
+        return this;
+    }
+
+    @Override
+    public DataView createView(DataQuery path) {
+        return wrap(translated().createView(path));
+    }
+
+    @Override
+    public DataView createView(DataQuery path, Map<?, ?> map) {
+        return wrap(translated().createView(path, map));
+    }
+
+    @Override
+    public Optional<DataView> getView(DataQuery path) {
+        return wrap(translated().getView(path));
+    }
+
+    @Override
+    public Optional<Boolean> getBoolean(DataQuery path) {
+        return getHolder(path).getBoolean(path);
+    }
+
+    @Override
+    public Optional<Integer> getInt(DataQuery path) {
+        return getHolder(path).getInt(path);
+    }
+
+    @Override
+    public Optional<Long> getLong(DataQuery path) {
+        return getHolder(path).getLong(path);
+    }
+
+    @Override
+    public Optional<Double> getDouble(DataQuery path) {
+        return getHolder(path).getDouble(path);
+    }
+
+    @Override
+    public Optional<String> getString(DataQuery path) {
+        return getHolder(path).getString(path);
+    }
+
+    @Override
+    public Optional<List<?>> getList(DataQuery path) {
+        return getHolder(path).getList(path);
+    }
+
+    @Override
+    public Optional<List<String>> getStringList(DataQuery path) {
+        return getHolder(path).getStringList(path);
+    }
+
+    @Override
+    public Optional<List<Character>> getCharacterList(DataQuery path) {
+        return getHolder(path).getCharacterList(path);
+    }
+
+    @Override
+    public Optional<List<Boolean>> getBooleanList(DataQuery path) {
+        return getHolder(path).getBooleanList(path);
+    }
+
+    @Override
+    public Optional<List<Byte>> getByteList(DataQuery path) {
+        return getHolder(path).getByteList(path);
+    }
+
+    @Override
+    public Optional<List<Short>> getShortList(DataQuery path) {
+        return getHolder(path).getShortList(path);
+    }
+
+    @Override
+    public Optional<List<Integer>> getIntegerList(DataQuery path) {
+        return getHolder(path).getIntegerList(path);
+    }
+
+    @Override
+    public Optional<List<Long>> getLongList(DataQuery path) {
+        return getHolder(path).getLongList(path);
+    }
+
+    @Override
+    public Optional<List<Float>> getFloatList(DataQuery path) {
+        return getHolder(path).getFloatList(path);
+    }
+
+    @Override
+    public Optional<List<Double>> getDoubleList(DataQuery path) {
+        return getHolder(path).getDoubleList(path);
+    }
+
+    @Override
+    public Optional<List<Map<?, ?>>> getMapList(DataQuery path) {
+        return translated().getMapList(path);
+    }
+
+    @Override
+    public Optional<List<DataView>> getViewList(DataQuery path) {
+        return wrapList(translated().getViewList(path));
+    }
+
+    @Override
+    public <T extends DataSerializable> Optional<T> getSerializable(DataQuery path, Class<T> clazz, SerializationService service) {
+        return translated().getSerializable(path, clazz, service);
+    }
+
+    @Override
+    public <T extends DataSerializable> Optional<List<T>> getSerializableList(DataQuery path, Class<T> clazz, SerializationService service) {
+        return translated().getSerializableList(path, clazz, service);
+    }
+
+    @Override
+    public DataContainer copy() {
+        return translated().copy();
+    }
+
+    @Override
+    public int hashCode() {
+        return translated().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LazyNbtContainer)) {
+            return false;
+        }
+        return translated().equals(((LazyNbtContainer) obj).translated());
+    }
+
+    @Override
+    public String toString() {
+        return this.compound != null ? this.compound.toString() : this.container.toString();
+    }
+
+    /**
+     * A view of the translated container which belongs to this container.
+     */
+    private final class ContainedView implements DataView {
+
+        private final DataView view;
+
+        ContainedView(DataView view) {
+            this.view = view;
+        }
+
+        @Override
+        public DataContainer getContainer() {
+            return LazyNbtContainer.this;
+        }
+
+        @Override
+        public DataQuery getCurrentPath() {
+            return this.view.getCurrentPath();
+        }
+
+        @Override
+        public String getName() {
+            return this.view.getName();
+        }
+
+        @Override
+        public Optional<DataView> getParent() {
+            Optional<DataView> parent = this.view.getParent();
+            if (parent.isPresent() && parent.get() == LazyNbtContainer.this.container) {
+                return Optional.<DataView>of(LazyNbtContainer.this);
+            }
+            return wrap(parent);
+        }
+
+        @Override
+        public Set<DataQuery> getKeys(boolean deep) {
+            return this.view.getKeys(deep);
+        }
+
+        @Override
+        public Map<DataQuery, Object> getValues(boolean deep) {
+            return this.view.getValues(deep);
+        }
+
+        @Override
+        public boolean contains(DataQuery path) {
+            return this.view.contains(path);
+        }
+
+        @Override
+        public Optional<Object> get(DataQuery path) {
+            return wrapValue(this.view.get(path));
+        }
+
+        @Override
+        public DataView set(DataQuery path, Object value) {
+            this.view.set(path, value);
+            return this;
+        }
+
+        @Override
+        public DataView remove(DataQuery path) {
+            this.view.remove(path);
+            return this;
+        }
+
+        @Override
+        public DataView createView(DataQuery path) {
+            return wrap(this.view.createView(path));
+        }
+
+        @Override
+        public DataView createView(DataQuery path, Map<?, ?> map) {
+            return wrap(this.view.createView(path, map));
+        }
+
+        @Override
+        public Optional<DataView> getView(DataQuery path) {
+            return wrap(this.view.getView(path));
+        }
+
+        @Override
+        public Optional<Boolean> getBoolean(DataQuery path) {
+            return this.view.getBoolean(path);
+        }
+
+        @Override
+        public Optional<Integer> getInt(DataQuery path) {
+            return this.view.getInt(path);
+        }
+
+        @Override
+        public Optional<Long> getLong(DataQuery path) {
+            return this.view.getLong(path);
+        }
+
+        @Override
+        public Optional<Double> getDouble(DataQuery path) {
+            return this.view.getDouble(path);
+        }
+
+        @Override
+        public Optional<String> getString(DataQuery path) {
+            return this.view.getString(path);
+        }
+
+        @Override
+        public Optional<List<?>> getList(DataQuery path) {
+            return this.view.getList(path);
+        }
+
+        @Override
+        public Optional<List<String>> getStringList(DataQuery path) {
+            return this.view.getStringList(path);
+        }
+
+        @Override
+        public Optional<List<Character>> getCharacterList(DataQuery path) {
+            return this.view.getCharacterList(path);
+        }
+
+        @Override
+        public Optional<List<Boolean>> getBooleanList(DataQuery path) {
+            return this.view.getBooleanList(path);
+        }
+
+        @Override
+        public Optional<List<Byte>> getByteList(DataQuery path) {
+            return this.view.getByteList(path);
+        }
+
+        @Override
+        public Optional<List<Short>> getShortList(DataQuery path) {
+            return this.view.getShortList(path);
+        }
+
+        @Override
+        public Optional<List<Integer>> getIntegerList(DataQuery path) {
+            return this.view.getIntegerList(path);
+        }
+
+        @Override
+        public Optional<List<Long>> getLongList(DataQuery path) {
+            return this.view.getLongList(path);
+        }
+
+        @Override
+        public Optional<List<Float>> getFloatList(DataQuery path) {
+            return this.view.getFloatList(path);
+        }
+
+        @Override
+        public Optional<List<Double>> getDoubleList(DataQuery path) {
+            return this.view.getDoubleList(path);
+        }
+
+        @Override
+        public Optional<List<Map<?, ?>>> getMapList(DataQuery path) {
+            return this.view.getMapList(path);
+        }
+
+        @Override
+        public Optional<List<DataView>> getViewList(DataQuery path) {
+            return wrapList(this.view.getViewList(path));
+        }
+
+        @Override
+        public <T extends DataSerializable> Optional<T> getSerializable(DataQuery path, Class<T> clazz, SerializationService service) {
+            return this.view.getSerializable(path, clazz, service);
+        }
+
+        @Override
+        public <T extends DataSerializable> Optional<List<T>> getSerializableList(DataQuery path, Class<T> clazz,
+                SerializationService service) {
+            return this.view.getSerializableList(path, clazz, service);
+        }
+
+        @Override
+        public DataContainer copy() {
+            return this.view.copy();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.view.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            return obj instanceof ContainedView && this.view.equals(((ContainedView) obj).view);
+        }
+
+        @Override
+        public String toString() {
+            return this.view.toString();
+        }
+    }
+
+}
@@ -27,9 +27,9 @@
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static org.spongepowered.api.data.DataQuery.of;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagByte;
 import net.minecraft.nbt.NBTTagByteArray;
@@ -52,17 +52,39 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
 
     private static final NbtTranslator instance = new NbtTranslator();
 
+    // NBT keys come from a small vocabulary (entity and tile entity fields),
+    // so their queries are created once. The limit guards against data with
+    // generated keys.
+    private static final int MAX_CACHED_QUERIES = 4096;
+    private static final ConcurrentMap<String, DataQuery> queryCache = Maps.newConcurrentMap();
+
     public static NbtTranslator getInstance() {
         return instance;
     }
 
     private NbtTranslator() { } // #NOPE
 
+    /**
+     * Gets the query of a single NBT key. The key is one part even if it
+     * contains dots, so it is written back to the same key.
+     */
+    static DataQuery getQuery(String key) {
+        DataQuery query = queryCache.get(key);
+        if (query == null) {
+            query = new DataQuery(key);
+            if (queryCache.size() < MAX_CACHED_QUERIES) {
+                queryCache.putIfAbsent(key, query);
+            }
+        }
+        return query;
+    }
+
     private static NBTTagCompound containerToCompound(final DataView container) {
         checkNotNull(container);
         NBTTagCompound compound = new NBTTagCompound();
@@ -71,20 +93,14 @@ private static NBTTagCompound containerToCompound(final DataView container) {
     }
 
     private static void containerToCompound(final DataView container, final NBTTagCompound compound) {
-        // We don't need to get deep values since all nested DataViews will be found
-        // from the instance of checks.
+        // Only the keys of this level are needed, nested DataViews are
+        // visited through the instance of checks. getValues would build maps
+        // of the whole tree at every level.
         checkNotNull(container);
         checkNotNull(compound);
-        for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
-            Object value = entry.getValue();
-            String key = entry.getKey().asString('.');
-            if (value instanceof DataView) {
-                NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
-                compound.setTag(key, inner);
-            } else {
-                compound.setTag(key, getBaseFromObject(value));
-            }
+        for (DataQuery query : container.getKeys(false)) {
+            Object value = container.get(query).get();
+            compound.setTag(query.asString('.'), getBaseFromObject(value));
         }
     }
 
@@ -105,6 +121,11 @@ private static NBTBase getBaseFromObject(Object value) {
             return new NBTTagDouble((Double) value);
         } else if (value instanceof String) {
             return new NBTTagString((String) value);
+        } else if (value instanceof byte[]) {
+            // Shared like the arrays read from NBT
+            return new NBTTagByteArray((byte[]) value);
+        } else if (value instanceof int[]) {
+            return new NBTTagIntArray((int[]) value);
         } else if (value instanceof Byte[]) {
             byte[] array = new byte[((Byte[]) value).length];
             int counter = 0;
@@ -142,7 +163,7 @@ private static NBTBase getBaseFromObject(Object value) {
     }
 
     @SuppressWarnings("unchecked")
-    private static DataContainer getViewFromCompound(NBTTagCompound compound) {
+    static DataContainer getViewFromCompound(NBTTagCompound compound) {
         checkNotNull(compound);
         DataContainer container = new MemoryDataContainer();
         for (String key : (Set<String>) compound.getKeySet()) {
@@ -160,22 +181,23 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
         checkNotNull(key);
         checkArgument(!key.isEmpty());
         checkArgument(type > 0);
+        DataQuery query = getQuery(key);
         if (type == 1) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getByte());
+            view.set(query, ((NBTBase.NBTPrimitive) base).getByte());
         } else if (type == 2) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getShort());
+            view.set(query, ((NBTBase.NBTPrimitive) base).getShort());
         } else if (type == 3) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getInt());
+            view.set(query, ((NBTBase.NBTPrimitive) base).getInt());
         } else if (type == 4) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getLong());
+            view.set(query, ((NBTBase.NBTPrimitive) base).getLong());
         } else if (type == 5) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getFloat());
+            view.set(query, ((NBTBase.NBTPrimitive) base).getFloat());
         } else if (type == 6) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getDouble());
+            view.set(query, ((NBTBase.NBTPrimitive) base).getDouble());
         } else if (type == 7) {
-            view.set(of('.', key), ((NBTTagByteArray) base).getByteArray());
+            view.set(query, ((NBTTagByteArray) base).getByteArray());
         } else if (type == 8) {
-            view.set(of('.', key), ((NBTTagString) base).getString());
+            view.set(query, ((NBTTagString) base).getString());
         } else if (type == 9) {
             NBTTagList list = (NBTTagList) base;
             byte listType = (byte) list.getTagType();
@@ -184,9 +206,9 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
             for (int i = 0; i < count; i++) {
                 objectList.add(fromTagBase(list.get(i), listType));
             }
-            view.set(of('.', key), objectList);
+            view.set(query, objectList);
         } else if (type == 10) {
-            DataView internalView = view.createView(of('.', key));
+            DataView internalView = view.createView(query);
             NBTTagCompound compound = (NBTTagCompound) base;
             for (String internalKey : (Set<String>) compound.getKeySet()) {
                 NBTBase internalBase = compound.getTag(internalKey);
@@ -198,12 +220,12 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
                 setInternal(internalBase, internalType, internalView, internalKey);
             }
         } else if (type == 11) {
-            view.set(of('.', key), ((NBTTagIntArray) base).getIntArray());
+            view.set(query, ((NBTTagIntArray) base).getIntArray());
         }
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static Object fromTagBase(NBTBase base, byte type) {
+    static Object fromTagBase(NBTBase base, byte type) {
         if (type == 0) {
             return null;
         } else if (type == 1) {
@@ -227,7 +249,7 @@ private static Object fromTagBase(NBTBase base, byte type) {
             byte listType = (byte) list.getTagType();
             int count = list.tagCount();
             List objectList = Lists.newArrayListWithCapacity(count);
-            for (int i = 0; i < list.tagCount(); i++) {
+            for (int i = 0; i < count; i++) {
                 objectList.add(fromTagBase(list.get(i), listType));
             }
             return objectList;
@@ -254,4 +276,19 @@ public void translateContainerToData(NBTTagCompound node, DataView container) {
     public DataContainer translateFrom(NBTTagCompound node) {
         return NbtTranslator.getViewFromCompound(node);
     }
+
+    /**
+     * Gets a container backed by the given compound. Values are only
+     * translated when they are read, and the whole compound is translated on
+     * the first write or structural read.
+     *
+     * <p>The compound must not be modified afterwards, since unread values
+     * are still read from it.</p>
+     *
+     * @param node The compound
+     * @return The container
+     */
+    public DataContainer translateFromLazily(NBTTagCompound node) {
+        return new LazyNbtContainer(node);
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.profile;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.mojang.authlib.GameProfile;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * An index of profiles sorted by their lower case name, to find the profiles
+ * whose name starts with a prefix without looking at all of them.
+ *
+ * <p>Only one profile is kept per name, a profile that takes over the name of
+ * another one replaces it.</p>
+ */
+public final class ProfileNameIndex {
+
+    private final NavigableMap<String, GameProfile> byName = new ConcurrentSkipListMap<String, GameProfile>();
+    private final Map<UUID, String> names = Maps.newConcurrentMap();
+
+    /**
+     * Adds a profile to this index, replacing the previous name of the profile.
+     *
+     * @param profile The profile
+     */
+    public synchronized void add(GameProfile profile) {
+        if (profile.getName() == null || profile.getId() == null) {
+            return;
+        }
+        String name = profile.getName().toLowerCase(Locale.ROOT);
+        String previousName = this.names.put(profile.getId(), name);
+        if (previousName != null && !previousName.equals(name)) {
+            this.byName.remove(previousName);
+        }
+        GameProfile previous = this.byName.put(name, profile);
+        if (previous != null && !previous.getId().equals(profile.getId())) {
+            this.names.remove(previous.getId());
+        }
+    }
+
+    /**
+     * Removes the profile with the given UUID from this index.
+     *
+     * @param uniqueId The UUID of the profile
+     */
+    public synchronized void remove(UUID uniqueId) {
+        String name = this.names.remove(uniqueId);
+        if (name != null) {
+            this.byName.remove(name);
+        }
+    }
+
+    /**
+     * Gets the profiles whose name starts with the given prefix, ignoring
+     * case.
+     *
+     * @param prefix The prefix
+     * @return The matching profiles, sorted by name
+     */
+    public List<GameProfile> match(String prefix) {
+        prefix = prefix.toLowerCase(Locale.ROOT);
+        ImmutableList.Builder<GameProfile> matching = ImmutableList.builder();
+        for (Map.Entry<String, GameProfile> entry : this.byName.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            matching.add(entry.getValue());
+        }
+        return matching.build();
+    }
+
+}
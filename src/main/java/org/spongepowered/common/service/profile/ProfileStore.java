@@ -0,0 +1,263 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.profile;
+
+import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.Files;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.PropertyMap;
+import com.mojang.util.UUIDTypeAdapter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * A local store of resolved profiles, kept for a limited time and optionally
+ * persisted to a file.
+ *
+ * <p>Profiles that could not be found are remembered in memory for a shorter
+ * time, so repeated lookups of unknown names or ids don't reach the session
+ * servers.</p>
+ */
+final class ProfileStore {
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(UUID.class, new UUIDTypeAdapter())
+            .registerTypeAdapter(PropertyMap.class, new PropertyMap.Serializer())
+            .create();
+
+    @Nullable private final File file;
+    private final long expireMillis;
+    private final Map<UUID, StoredProfile> byId = Maps.newHashMap();
+    private final Map<String, StoredProfile> byName = Maps.newHashMap();
+    private final Cache<Object, Boolean> missing;
+    private final Object saveLock = new Object();
+    private boolean dirty;
+
+    /**
+     * Creates a new profile store.
+     *
+     * @param file The file to persist the profiles to, or null to only keep
+     *     them in memory
+     * @param expire The time a profile is kept
+     * @param missingExpire The time a profile that was not found is
+     *     remembered
+     * @param unit The unit of both times
+     */
+    ProfileStore(@Nullable File file, long expire, long missingExpire, TimeUnit unit) {
+        this.file = file;
+        this.expireMillis = unit.toMillis(expire);
+        this.missing = CacheBuilder.newBuilder()
+                .expireAfterWrite(missingExpire, unit)
+                .build();
+    }
+
+    @Nullable
+    synchronized GameProfile getById(UUID uniqueId) {
+        return getValid(this.byId.get(uniqueId));
+    }
+
+    @Nullable
+    synchronized GameProfile getByName(String name) {
+        return getValid(this.byName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    @Nullable
+    private GameProfile getValid(@Nullable StoredProfile stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.expires < System.currentTimeMillis()) {
+            remove(stored);
+            return null;
+        }
+        return stored.toProfile();
+    }
+
+    boolean isMissing(UUID uniqueId) {
+        return this.missing.getIfPresent(uniqueId) != null;
+    }
+
+    boolean isMissing(String name) {
+        return this.missing.getIfPresent(name.toLowerCase(Locale.ROOT)) != null;
+    }
+
+    void putMissing(UUID uniqueId) {
+        this.missing.put(uniqueId, Boolean.TRUE);
+    }
+
+    void putMissing(String name) {
+        this.missing.put(name.toLowerCase(Locale.ROOT), Boolean.TRUE);
+    }
+
+    synchronized void put(GameProfile profile) {
+        String name = profile.getName().toLowerCase(Locale.ROOT);
+        StoredProfile previous = this.byId.get(profile.getId());
+        if (previous != null) {
+            // The name may have changed
+            remove(previous);
+        }
+        previous = this.byName.get(name);
+        if (previous != null) {
+            // The name may have been taken over from another player
+            remove(previous);
+        }
+        StoredProfile stored = new StoredProfile(profile, System.currentTimeMillis() + this.expireMillis);
+        this.byId.put(stored.id, stored);
+        this.byName.put(name, stored);
+        this.missing.invalidate(profile.getId());
+        this.missing.invalidate(name);
+        this.dirty = true;
+    }
+
+    private void remove(StoredProfile stored) {
+        this.byId.remove(stored.id);
+        this.byName.remove(stored.name.toLowerCase(Locale.ROOT));
+        this.dirty = true;
+    }
+
+    /**
+     * Gets all profiles that have not expired yet.
+     *
+     * @return The profiles
+     */
+    synchronized Collection<GameProfile> getProfiles() {
+        removeExpired();
+        List<GameProfile> profiles = Lists.newArrayListWithCapacity(this.byId.size());
+        for (StoredProfile stored : this.byId.values()) {
+            profiles.add(stored.toProfile());
+        }
+        return profiles;
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        for (Iterator<StoredProfile> it = this.byId.values().iterator(); it.hasNext();) {
+            StoredProfile stored = it.next();
+            if (stored.expires < now) {
+                it.remove();
+                this.byName.remove(stored.name.toLowerCase(Locale.ROOT));
+                this.dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Loads the profiles from the file of this store, if it exists.
+     *
+     * @throws IOException If the file could not be read
+     */
+    synchronized void load() throws IOException {
+        if (this.file == null || !this.file.isFile()) {
+            return;
+        }
+        List<StoredProfile> profiles;
+        try {
+            profiles = GSON.fromJson(Files.toString(this.file, Charsets.UTF_8), new TypeToken<List<StoredProfile>>() {}.getType());
+        } catch (JsonParseException e) {
+            throw new IOException("Invalid profile store " + this.file, e);
+        }
+        if (profiles == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (StoredProfile stored : profiles) {
+            if (stored != null && stored.id != null && stored.name != null && stored.expires >= now) {
+                this.byId.put(stored.id, stored);
+                this.byName.put(stored.name.toLowerCase(Locale.ROOT), stored);
+            }
+        }
+    }
+
+    /**
+     * Writes the profiles to the file of this store if they were changed since
+     * they were last written.
+     *
+     * @throws IOException If the file could not be written
+     */
+    void save() throws IOException {
+        if (this.file == null) {
+            return;
+        }
+        // Lookups only wait for taking the snapshot, not for the write
+        synchronized (this.saveLock) {
+            String json;
+            synchronized (this) {
+                if (!this.dirty) {
+                    return;
+                }
+                removeExpired();
+                json = GSON.toJson(Lists.newArrayList(this.byId.values()));
+                this.dirty = false;
+            }
+            Files.createParentDirs(this.file);
+            Files.write(json, this.file, Charsets.UTF_8);
+        }
+    }
+
+    private static final class StoredProfile {
+
+        UUID id;
+        String name;
+        @Nullable PropertyMap properties;
+        long expires;
+
+        StoredProfile(GameProfile profile, long expires) {
+            this.id = profile.getId();
+            this.name = profile.getName();
+            if (!profile.getProperties().isEmpty()) {
+                this.properties = new PropertyMap();
+                this.properties.putAll(profile.getProperties());
+            }
+            this.expires = expires;
+        }
+
+        GameProfile toProfile() {
+            GameProfile profile = new GameProfile(this.id, this.name);
+            if (this.properties != null) {
+                profile.getProperties().putAll(this.properties);
+            }
+            return profile;
+        }
+    }
+
+}
@@ -27,231 +27,485 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.ListenableFutureTask;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mojang.authlib.Agent;
+import com.mojang.authlib.GameProfileRepository;
 import com.mojang.authlib.ProfileLookupCallback;
+import com.mojang.authlib.minecraft.MinecraftSessionService;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.PlayerProfileCache;
 import org.spongepowered.api.GameProfile;
 import org.spongepowered.api.service.profile.GameProfileResolver;
 import org.spongepowered.api.service.profile.ProfileNotFoundException;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.common.interfaces.IMixinPlayerProfileCache;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Set;
+import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.annotation.Nullable;
+
+/**
+ * Resolves profiles from the local profile store, the server's user cache and
+ * finally the session servers.
+ *
+ * <p>Concurrent requests for the same name or UUID share a single request to
+ * the session servers. Names are looked up in batches, and names or UUIDs that
+ * could not be found are not looked up again for a while.</p>
+ */
 public class SpongeProfileResolver implements GameProfileResolver {
 
-    private static abstract class Query<V> implements Callable<V> {
+    private static final int RESOLVER_THREADS = 4;
+
+    // The profile repository sends names in pages itself, this only limits
+    // how many names a single task looks up
+    private static final int MAX_NAMES_PER_BATCH = 100;
+
+    @Nullable private static SpongeProfileResolver instance;
+
+    private final ProfileStore store;
+    private final Executor executor;
+    @Nullable private final MinecraftSessionService sessionService;
+    @Nullable private final GameProfileRepository profileRepository;
+    @Nullable private final PlayerProfileCache profileCache;
+    private final ConcurrentMap<UUID, ListenableFuture<com.mojang.authlib.GameProfile>> idRequests = Maps.newConcurrentMap();
+    private final ConcurrentMap<String, SettableFuture<com.mojang.authlib.GameProfile>> nameRequests = Maps.newConcurrentMap();
+    private final Queue<String> pendingNames = new ConcurrentLinkedQueue<String>();
+    private final AtomicBoolean savePending = new AtomicBoolean();
+    private final ProfileNameIndex nameIndex = new ProfileNameIndex();
+    private volatile boolean nameIndexFilled;
+
+    public static synchronized SpongeProfileResolver getInstance() {
+        if (instance == null) {
+            SpongeConfig.UsersCategory config = Sponge.getGlobalConfig().getConfig().getUsers();
+            ProfileStore store = new ProfileStore(new File(Sponge.getGameDirectory(), "profilecache.json"),
+                    TimeUnit.HOURS.toMinutes(Math.max(0, config.getProfileCacheHours())), Math.max(0, config.getProfileMissingCacheMinutes()),
+                    TimeUnit.MINUTES);
+            try {
+                store.load();
+            } catch (IOException e) {
+                Sponge.getLogger().warn("Could not load the stored profiles", e);
+            }
+            instance = new SpongeProfileResolver(store, Executors.newFixedThreadPool(RESOLVER_THREADS, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge Profile Resolver #%d")
+                    .setDaemon(true)
+                    .build()), null, null, null);
+        }
+        return instance;
+    }
 
-        private final boolean useCache;
-        protected final MinecraftServer server = MinecraftServer.getServer();
-        protected final PlayerProfileCache cache = this.server.getPlayerProfileCache();
+    /**
+     * Creates a new profile resolver.
+     *
+     * <p>If no session service, profile repository or user cache is given, the
+     * ones of the running server are used.</p>
+     *
+     * @param store The store resolved profiles are kept in
+     * @param executor The executor requests to the session servers run on
+     * @param sessionService The session service to look up UUIDs with
+     * @param profileRepository The profile repository to look up names with
+     * @param profileCache The user cache to consult and add resolved profiles to
+     */
+    SpongeProfileResolver(ProfileStore store, Executor executor, @Nullable MinecraftSessionService sessionService,
+            @Nullable GameProfileRepository profileRepository, @Nullable PlayerProfileCache profileCache) {
+        this.store = store;
+        this.executor = executor;
+        this.sessionService = sessionService;
+        this.profileRepository = profileRepository;
+        this.profileCache = profileCache;
+    }
 
-        public Query(boolean useCache) {
-            this.useCache = useCache;
-        }
+    @Override
+    public ListenableFuture<GameProfile> get(UUID uniqueId) {
+        return this.get(uniqueId, true);
+    }
 
-        protected GameProfile fromId(UUID id) throws Exception {
-            if (this.useCache) {
-                GameProfile profile = (GameProfile) this.cache.getProfileByUUID(id);
-                if (profile != null) {
-                    return profile;
-                }
-            }
-            // TODO Possibly use UUID -> Name History
-            // (http://wiki.vg/Mojang_API#UUID_-.3E_Name_history)
-            com.mojang.authlib.GameProfile profile =
-                    this.server.getMinecraftSessionService().fillProfileProperties(new com.mojang.authlib.GameProfile(id, null), false);
-            if (profile == null || !profile.isComplete()) {
-                throw new ProfileNotFoundException("Profile: " + profile);
+    @Override
+    public ListenableFuture<GameProfile> get(UUID uniqueId, final boolean useCache) {
+        return toApi(this.lookup(checkNotNull(uniqueId, "uniqueId"), useCache));
+    }
+
+    @Override
+    public ListenableFuture<GameProfile> get(String name) {
+        return this.get(name, true);
+    }
+
+    @Override
+    public ListenableFuture<GameProfile> get(String name, boolean useCache) {
+        return toApi(this.lookup(checkNotNull(name, "name"), useCache));
+    }
+
+    @Override
+    public ListenableFuture<Collection<GameProfile>> getAllByName(Iterable<String> names, boolean useCache) {
+        return toApi(this.lookupAllByName(checkNotNull(names, "names"), useCache));
+    }
+
+    @Override
+    public ListenableFuture<Collection<GameProfile>> getAllById(Iterable<UUID> uniqueIds, boolean useCache) {
+        return toApi(this.lookupAllById(checkNotNull(uniqueIds, "uniqueIds"), useCache));
+    }
+
+    @Override
+    public Collection<GameProfile> getCachedProfiles() {
+        Map<UUID, GameProfile> profiles = Maps.newLinkedHashMap();
+        for (com.mojang.authlib.GameProfile profile : this.store.getProfiles()) {
+            profiles.put(profile.getId(), (GameProfile) profile);
+        }
+        PlayerProfileCache cache = this.getServerCache();
+        if (cache != null) {
+            for (com.mojang.authlib.GameProfile profile : ((IMixinPlayerProfileCache) cache).getCachedProfiles()) {
+                profiles.put(profile.getId(), (GameProfile) profile);
             }
-            return (GameProfile) profile;
         }
+        return profiles.values();
+    }
 
-        protected List<GameProfile> fromNames(List<String> names) throws Exception {
-            final List<GameProfile> profiles = Lists.newArrayList();
-            Set<String> cachedNames = Sets.newHashSet(this.cache.getUsernames());
-            if (this.useCache) {
-                for (int i = 0; i < names.size(); i++) {
-                    GameProfile profile = null;
-                    if (cachedNames.contains(names.get(i).toLowerCase(Locale.ROOT))) {
-                        profile = (GameProfile) this.cache.getGameProfileForUsername(names.get(i));
-                    }
-                    if (profile != null) {
-                        profiles.add(profile);
-                        names.remove(i--);
-                    }
-                }
-            }
-            if (names.isEmpty()) {
-                return profiles;
+    @Override
+    public Collection<GameProfile> match(String lastKnownName) {
+        return toApi(this.matchNames(checkNotNull(lastKnownName, "lastKnownName")));
+    }
+
+    List<com.mojang.authlib.GameProfile> matchNames(String prefix) {
+        if (!this.nameIndexFilled) {
+            this.fillNameIndex();
+        }
+        return this.nameIndex.match(prefix);
+    }
+
+    private synchronized void fillNameIndex() {
+        if (this.nameIndexFilled) {
+            return;
+        }
+        // Later additions are indexed as they are stored or cached
+        for (com.mojang.authlib.GameProfile profile : this.store.getProfiles()) {
+            this.nameIndex.add(profile);
+        }
+        PlayerProfileCache cache = this.getServerCache();
+        if (cache != null) {
+            for (com.mojang.authlib.GameProfile profile : ((IMixinPlayerProfileCache) cache).getCachedProfiles()) {
+                this.nameIndex.add(profile);
             }
-            final ProfileNotFoundException[] thrown = new ProfileNotFoundException[1];
-            this.server.getGameProfileRepository().findProfilesByNames(names.toArray(new String[0]), Agent.MINECRAFT, new ProfileLookupCallback() {
+        }
+        this.nameIndexFilled = true;
+    }
 
-                @Override
-                public void onProfileLookupSucceeded(com.mojang.authlib.GameProfile profile) {
-                    Query.this.cache.addEntry(profile);
-                    if (thrown[0] == null) {
-                        profiles.add((GameProfile) profile);
-                    }
-                }
+    /**
+     * Gets the index of known profile names used by {@link #match}.
+     *
+     * @return The name index
+     */
+    public ProfileNameIndex getNameIndex() {
+        return this.nameIndex;
+    }
 
-                @Override
-                public void onProfileLookupFailed(com.mojang.authlib.GameProfile profile, Exception exception) {
-                    thrown[0] = new ProfileNotFoundException("Profile: " + profile, exception);
+    ListenableFuture<com.mojang.authlib.GameProfile> lookup(UUID uniqueId, boolean useCache) {
+        if (useCache) {
+            com.mojang.authlib.GameProfile profile = this.store.getById(uniqueId);
+            if (profile == null) {
+                PlayerProfileCache cache = this.getServerCache();
+                if (cache != null) {
+                    profile = ((IMixinPlayerProfileCache) cache).getCachedProfile(uniqueId);
                 }
-            });
-            this.cache.save();
-            if (thrown[0] != null) {
-                throw thrown[0];
             }
-            return profiles;
+            if (profile != null) {
+                return Futures.immediateFuture(profile);
+            }
+            if (this.store.isMissing(uniqueId)) {
+                return Futures.immediateFailedFuture(new ProfileNotFoundException("Profile: " + uniqueId));
+            }
         }
+        return this.fetch(uniqueId);
+    }
 
+    ListenableFuture<com.mojang.authlib.GameProfile> lookup(String name, boolean useCache) {
+        if (useCache) {
+            ListenableFuture<com.mojang.authlib.GameProfile> cached = this.fromCache(name);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return this.fetch(Lists.newArrayList(name)).get(0);
     }
 
-    private static class SingleQuery extends Query<GameProfile> {
+    ListenableFuture<List<com.mojang.authlib.GameProfile>> lookupAllById(Iterable<UUID> uniqueIds, boolean useCache) {
+        List<ListenableFuture<com.mojang.authlib.GameProfile>> futures = Lists.newArrayList();
+        for (UUID uniqueId : uniqueIds) {
+            if (uniqueId != null) {
+                futures.add(this.lookup(uniqueId, useCache));
+            }
+        }
+        return Futures.allAsList(futures);
+    }
 
-        private final UUID id;
-        private final String name;
+    ListenableFuture<List<com.mojang.authlib.GameProfile>> lookupAllByName(Iterable<String> names, boolean useCache) {
+        List<ListenableFuture<com.mojang.authlib.GameProfile>> futures = Lists.newArrayList();
+        List<String> uncached = Lists.newArrayList();
+        for (String name : names) {
+            if (name == null) {
+                continue;
+            }
+            ListenableFuture<com.mojang.authlib.GameProfile> cached = useCache ? this.fromCache(name) : null;
+            if (cached != null) {
+                futures.add(cached);
+            } else {
+                uncached.add(name);
+            }
+        }
+        futures.addAll(this.fetch(uncached));
+        return Futures.allAsList(futures);
+    }
 
-        public SingleQuery(UUID uniqueId, boolean useCache) {
-            super(useCache);
-            this.id = uniqueId;
-            this.name = null;
+    @Nullable
+    private ListenableFuture<com.mojang.authlib.GameProfile> fromCache(String name) {
+        com.mojang.authlib.GameProfile profile = this.store.getByName(name);
+        if (profile == null) {
+            PlayerProfileCache cache = this.getServerCache();
+            if (cache != null) {
+                // Never falls back to a blocking lookup of its own on a miss
+                profile = ((IMixinPlayerProfileCache) cache).getCachedProfile(name);
+            }
         }
+        if (profile != null) {
+            return Futures.immediateFuture(profile);
+        }
+        if (this.store.isMissing(name)) {
+            return Futures.immediateFailedFuture(new ProfileNotFoundException("Profile: " + name));
+        }
+        return null;
+    }
 
-        public SingleQuery(String name, boolean useCache) {
-            super(useCache);
-            this.name = name;
-            this.id = null;
+    private ListenableFuture<com.mojang.authlib.GameProfile> fetch(final UUID uniqueId) {
+        ListenableFuture<com.mojang.authlib.GameProfile> future = this.idRequests.get(uniqueId);
+        if (future != null) {
+            return future;
         }
+        ListenableFutureTask<com.mojang.authlib.GameProfile> task = ListenableFutureTask.create(new Callable<com.mojang.authlib.GameProfile>() {
 
-        @Override
-        public GameProfile call() throws Exception {
-            if (this.id != null) {
-                return this.fromId(this.id);
-            } else if (this.name != null) {
-                return this.fromNames(Lists.newArrayList(this.name)).get(0);
+            @Override
+            public com.mojang.authlib.GameProfile call() throws Exception {
+                return SpongeProfileResolver.this.fetchNow(uniqueId);
             }
-            throw new IllegalStateException("Impossible! The query if not for a name or a uuid.");
+        });
+        future = this.idRequests.putIfAbsent(uniqueId, task);
+        if (future != null) {
+            return future;
         }
-
+        removeWhenDone(this.idRequests, uniqueId, task);
+        this.executor.execute(task);
+        return task;
     }
 
-    private static class MultiQuery extends Query<Collection<GameProfile>> {
+    private com.mojang.authlib.GameProfile fetchNow(UUID uniqueId) throws Exception {
+        // TODO Possibly use UUID -> Name History
+        // (http://wiki.vg/Mojang_API#UUID_-.3E_Name_history)
+        com.mojang.authlib.GameProfile profile =
+                this.getSessionService().fillProfileProperties(new com.mojang.authlib.GameProfile(uniqueId, null), false);
+        if (profile == null || !profile.isComplete()) {
+            this.store.putMissing(uniqueId);
+            throw new ProfileNotFoundException("Profile: " + uniqueId);
+        }
+        this.store.put(profile);
+        this.nameIndex.add(profile);
+        this.saveLater();
+        return profile;
+    }
 
-        private final Iterator<?> iterator;
+    /**
+     * Queues the given names to be looked up. Names that are already being
+     * looked up are not queued again.
+     */
+    private List<ListenableFuture<com.mojang.authlib.GameProfile>> fetch(List<String> names) {
+        List<ListenableFuture<com.mojang.authlib.GameProfile>> futures = Lists.newArrayListWithCapacity(names.size());
+        int queued = 0;
+        for (String name : names) {
+            String key = name.toLowerCase(Locale.ROOT);
+            SettableFuture<com.mojang.authlib.GameProfile> future = SettableFuture.create();
+            SettableFuture<com.mojang.authlib.GameProfile> existing = this.nameRequests.putIfAbsent(key, future);
+            if (existing != null) {
+                futures.add(existing);
+                continue;
+            }
+            removeWhenDone(this.nameRequests, key, future);
+            this.pendingNames.add(name);
+            futures.add(future);
+            queued++;
+        }
+        // A task may find that an earlier one already took its names, which
+        // is what combines the names of concurrent requests into one batch
+        for (int i = 0; i < queued; i += MAX_NAMES_PER_BATCH) {
+            this.executor.execute(new Runnable() {
 
-        public MultiQuery(Iterable<?> iterable, boolean useCache) {
-            super(useCache);
-            this.iterator = iterable.iterator();
+                @Override
+                public void run() {
+                    SpongeProfileResolver.this.fetchPendingNames();
+                }
+            });
         }
+        return futures;
+    }
 
-        @Override
-        public Collection<GameProfile> call() throws Exception {
-            if (!this.iterator.hasNext()) {
-                return Collections.emptyList();
-            }
-            Object first = null; // Isn't type erasure great?!
-            do {
-                first = this.iterator.next();
-            } while (first == null && this.iterator.hasNext());
-            if (first instanceof String) {
-                @SuppressWarnings("unchecked")
-                List<String> names = Lists.newArrayList((Iterator<String>) this.iterator);
-                names.add((String) first);
-                return this.fromNames(names);
-            } else if (first instanceof UUID) {
-                return this.iterateUuids((UUID) first);
+    private void fetchPendingNames() {
+        final Map<String, SettableFuture<com.mojang.authlib.GameProfile>> batch = Maps.newHashMap();
+        List<String> names = Lists.newArrayList();
+        String name;
+        while (names.size() < MAX_NAMES_PER_BATCH && (name = this.pendingNames.poll()) != null) {
+            String key = name.toLowerCase(Locale.ROOT);
+            SettableFuture<com.mojang.authlib.GameProfile> future = this.nameRequests.get(key);
+            if (future != null && batch.put(key, future) == null) {
+                names.add(name);
             }
-            return Collections.emptyList();
         }
+        if (names.isEmpty()) {
+            return;
+        }
+        final List<com.mojang.authlib.GameProfile> found = Lists.newArrayList();
+        try {
+            this.getProfileRepository().findProfilesByNames(names.toArray(new String[names.size()]), Agent.MINECRAFT, new ProfileLookupCallback() {
 
-        private Collection<GameProfile> iterateUuids(UUID first) throws Exception {
-            Collection<GameProfile> profiles = Lists.newArrayList(this.fromId(first));
-            while (this.iterator.hasNext()) {
-                profiles.add(this.fromId((UUID) this.iterator.next()));
+                @Override
+                public void onProfileLookupSucceeded(com.mojang.authlib.GameProfile profile) {
+                    SpongeProfileResolver.this.store.put(profile);
+                    SpongeProfileResolver.this.nameIndex.add(profile);
+                    found.add(profile);
+                    SettableFuture<com.mojang.authlib.GameProfile> future = batch.remove(profile.getName().toLowerCase(Locale.ROOT));
+                    if (future != null) {
+                        future.set(profile);
+                    }
+                }
+
+                @Override
+                public void onProfileLookupFailed(com.mojang.authlib.GameProfile profile, Exception exception) {
+                    if (exception instanceof com.mojang.authlib.yggdrasil.ProfileNotFoundException) {
+                        SpongeProfileResolver.this.store.putMissing(profile.getName());
+                    }
+                    SettableFuture<com.mojang.authlib.GameProfile> future = batch.remove(profile.getName().toLowerCase(Locale.ROOT));
+                    if (future != null) {
+                        future.setException(new ProfileNotFoundException("Profile: " + profile.getName(), exception));
+                    }
+                }
+            });
+        } catch (Exception e) {
+            for (SettableFuture<com.mojang.authlib.GameProfile> future : batch.values()) {
+                future.setException(e);
             }
-            return profiles;
+            batch.clear();
+        }
+        for (Map.Entry<String, SettableFuture<com.mojang.authlib.GameProfile>> entry : batch.entrySet()) {
+            entry.getValue().setException(new ProfileNotFoundException("Profile: " + entry.getKey()));
+        }
+        if (!found.isEmpty()) {
+            this.saveLater();
+            this.addToServerCache(found);
         }
     }
 
-    private final ListeningExecutorService executor = MoreExecutors.listeningDecorator(Executors.newCachedThreadPool());
+    /**
+     * Saves the profile store after the lookups that are already queued.
+     */
+    private void saveLater() {
+        if (this.savePending.compareAndSet(false, true)) {
+            this.executor.execute(new Runnable() {
 
-    @Override
-    public ListenableFuture<GameProfile> get(UUID uniqueId) {
-        return this.get(uniqueId, true);
+                @Override
+                public void run() {
+                    SpongeProfileResolver.this.savePending.set(false);
+                    try {
+                        SpongeProfileResolver.this.store.save();
+                    } catch (IOException e) {
+                        Sponge.getLogger().warn("Could not save the stored profiles", e);
+                    }
+                }
+            });
+        }
     }
 
-    @Override
-    public ListenableFuture<GameProfile> get(UUID uniqueId, final boolean useCache) {
-        return this.executor.submit(new SingleQuery(checkNotNull(uniqueId, "uniqueId"), useCache));
-    }
+    private void addToServerCache(final List<com.mojang.authlib.GameProfile> profiles) {
+        final PlayerProfileCache cache = this.getServerCache();
+        if (cache == null) {
+            return;
+        }
+        Runnable addEntries = new Runnable() {
 
-    @Override
-    public ListenableFuture<GameProfile> get(String name) {
-        return this.get(name, true);
+            @Override
+            public void run() {
+                for (com.mojang.authlib.GameProfile profile : profiles) {
+                    cache.addEntry(profile);
+                }
+                cache.save();
+            }
+        };
+        MinecraftServer server = MinecraftServer.getServer();
+        if (server != null) {
+            // The user cache is not thread safe
+            server.addScheduledTask(addEntries);
+        } else {
+            addEntries.run();
+        }
     }
 
-    @Override
-    public ListenableFuture<GameProfile> get(String name, boolean useCache) {
-        return this.executor.submit(new SingleQuery(checkNotNull(name, "name"), useCache));
+    private MinecraftSessionService getSessionService() {
+        return this.sessionService != null ? this.sessionService : MinecraftServer.getServer().getMinecraftSessionService();
     }
 
-    @Override
-    public ListenableFuture<Collection<GameProfile>> getAllByName(Iterable<String> names, boolean useCache) {
-        return this.executor.submit(new MultiQuery(checkNotNull(names, "names"), useCache));
+    private GameProfileRepository getProfileRepository() {
+        return this.profileRepository != null ? this.profileRepository : MinecraftServer.getServer().getGameProfileRepository();
     }
 
-    @Override
-    public ListenableFuture<Collection<GameProfile>> getAllById(Iterable<UUID> uniqueIds, boolean useCache) {
-        return this.executor.submit(new MultiQuery(checkNotNull(uniqueIds, "uniqueIds"), useCache));
+    @Nullable
+    private PlayerProfileCache getServerCache() {
+        if (this.profileCache != null) {
+            return this.profileCache;
+        }
+        MinecraftServer server = MinecraftServer.getServer();
+        return server != null ? server.getPlayerProfileCache() : null;
     }
 
-    @Override
-    public Collection<GameProfile> getCachedProfiles() {
-        PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
-        Collection<GameProfile> profiles = Lists.newArrayList();
-        for (String name : cache.getUsernames()) {
-            if (name != null) {
-                GameProfile profile = (GameProfile) cache.getGameProfileForUsername(name);
-                if (profile != null) {
-                    profiles.add(profile);
-                }
+    private static <K> void removeWhenDone(final ConcurrentMap<K, ?> requests, final K key, final ListenableFuture<?> future) {
+        future.addListener(new Runnable() {
+
+            @Override
+            public void run() {
+                requests.remove(key, future);
             }
-        }
-        return profiles;
+        }, MoreExecutors.sameThreadExecutor());
     }
 
-    @Override
-    public Collection<GameProfile> match(String lastKnownName) {
-        lastKnownName = checkNotNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
-        Collection<GameProfile> allProfiles = this.getCachedProfiles();
-        Collection<org.spongepowered.api.GameProfile> matching = Sets.newHashSet();
-        for (GameProfile profile : allProfiles) {
-            if (profile.getName().startsWith(lastKnownName)) {
-                matching.add(profile);
-            }
-        }
-        return matching;
+    // The profiles are mixed into implementing the API profile, so only the
+    // type of the future changes
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> ListenableFuture<T> toApi(ListenableFuture<?> future) {
+        return (ListenableFuture) future;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Collection<GameProfile> toApi(Collection<com.mojang.authlib.GameProfile> profiles) {
+        return (Collection) profiles;
     }
 
     // Internal. Get the profile from the UUID and block until a result
     public static GameProfile getProfile(UUID uniqueId, boolean useCache) {
         try {
-            return new SingleQuery(uniqueId, useCache).call();
+            return (GameProfile) getInstance().lookup(uniqueId, useCache).get();
         } catch (Exception e) {
             return null;
         }
@@ -0,0 +1,263 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.scheduler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.SpongeConfig;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs asynchronous task runnables on a bounded pool of worker threads.
+ *
+ * <p>Each plugin gets its own queue, and only a limited number of runs from
+ * one plugin can be on the pool at once. Further runs are queued up to a
+ * limit, after which they are rejected. This stops a single plugin with many
+ * blocking tasks from taking every worker.</p>
+ */
+public class AsyncTaskExecutor {
+
+    private static final int MIN_DEFAULT_THREADS = 16;
+
+    private final ThreadPoolExecutor pool;
+    private final int concurrencyLimit;
+    private final int queueLimit;
+    private final ConcurrentMap<String, PluginQueue> queues = Maps.newConcurrentMap();
+
+    AsyncTaskExecutor(int parallelism, int concurrencyLimit, int queueLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.queueLimit = queueLimit;
+        // The work queue needs no bound of its own, each plugin can only have
+        // up to its concurrency limit of runs handed to the pool.
+        this.pool = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("Sponge Async Worker #%d")
+                        .setDaemon(true)
+                        .build());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates an executor sized from the global config.
+     *
+     * @return The new executor
+     */
+    static AsyncTaskExecutor fromConfig() {
+        SpongeConfig.SchedulerCategory config = Sponge.getGlobalConfig().getConfig().getScheduler();
+        int parallelism = config.getAsyncThreads();
+        if (parallelism <= 0) {
+            // Plugin tasks mostly block on I/O, so the pool is not sized to
+            // the processors alone
+            parallelism = Math.max(MIN_DEFAULT_THREADS, Runtime.getRuntime().availableProcessors() * 2);
+        }
+        // However the limit is configured, a single plugin can only take half
+        // of the workers
+        int concurrencyLimit = Math.min(config.getPluginConcurrencyLimit(), parallelism / 2);
+        return new AsyncTaskExecutor(parallelism, Math.max(1, concurrencyLimit), config.getPluginQueueLimit());
+    }
+
+    /**
+     * Queues a run for the plugin, starting it as soon as the plugin is below
+     * its concurrency limit.
+     *
+     * @param owner The plugin owning the run
+     * @param runnable The runnable to run
+     * @return False if the run was rejected because the plugin queue is full
+     */
+    boolean execute(PluginContainer owner, Runnable runnable) {
+        PluginQueue queue = this.queues.get(owner.getId());
+        if (queue == null) {
+            PluginQueue newQueue = new PluginQueue(owner.getId());
+            queue = this.queues.putIfAbsent(owner.getId(), newQueue);
+            if (queue == null) {
+                queue = newQueue;
+            }
+        }
+        return queue.offer(runnable);
+    }
+
+    /**
+     * Gets the parallelism of the worker pool.
+     *
+     * @return The number of workers
+     */
+    public int getParallelism() {
+        return this.pool.getMaximumPoolSize();
+    }
+
+    /**
+     * Gets the statistics of every plugin which has submitted a run.
+     *
+     * @return The plugin queues
+     */
+    public Collection<PluginQueue> getPluginQueues() {
+        return ImmutableList.copyOf(this.queues.values());
+    }
+
+    /**
+     * The pending runs and statistics of a single plugin.
+     */
+    public final class PluginQueue {
+
+        private final String pluginId;
+        private final Queue<QueuedRun> pending = new ConcurrentLinkedQueue<QueuedRun>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong totalRunNanos = new AtomicLong();
+        // Whether the queue has been full since it was last empty, to only
+        // warn once per overload
+        private volatile boolean saturated;
+
+        PluginQueue(String pluginId) {
+            this.pluginId = pluginId;
+        }
+
+        boolean offer(Runnable runnable) {
+            if (this.queued.incrementAndGet() > AsyncTaskExecutor.this.queueLimit) {
+                this.queued.decrementAndGet();
+                this.rejected.incrementAndGet();
+                if (!this.saturated) {
+                    this.saturated = true;
+                    Sponge.getLogger().warn("Plugin {} has {} asynchronous task runs waiting, further runs are held back until some complete",
+                            this.pluginId, AsyncTaskExecutor.this.queueLimit);
+                }
+                return false;
+            }
+            this.pending.add(new QueuedRun(runnable));
+            this.drain();
+            return true;
+        }
+
+        private void drain() {
+            while (!this.pending.isEmpty()) {
+                int current = this.running.get();
+                if (current >= AsyncTaskExecutor.this.concurrencyLimit) {
+                    // A finishing run will drain the queue again
+                    return;
+                }
+                if (!this.running.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                QueuedRun run = this.pending.poll();
+                if (run == null) {
+                    this.running.decrementAndGet();
+                    continue;
+                }
+                if (this.queued.decrementAndGet() == 0) {
+                    this.saturated = false;
+                }
+                try {
+                    AsyncTaskExecutor.this.pool.execute(run);
+                } catch (RejectedExecutionException e) {
+                    this.running.decrementAndGet();
+                    this.rejected.incrementAndGet();
+                    Sponge.getLogger().error("Could not start an asynchronous task run for plugin {}", this.pluginId, e);
+                }
+            }
+        }
+
+        public String getPluginId() {
+            return this.pluginId;
+        }
+
+        public int getQueued() {
+            return this.queued.get();
+        }
+
+        public int getRunning() {
+            return this.running.get();
+        }
+
+        public long getCompleted() {
+            return this.completed.get();
+        }
+
+        public long getRejected() {
+            return this.rejected.get();
+        }
+
+        /**
+         * Gets the average time completed runs spent waiting in the queue.
+         *
+         * @return The average wait in milliseconds
+         */
+        public double getAverageWaitMillis() {
+            long completed = this.completed.get();
+            return completed == 0 ? 0 : this.totalWaitNanos.get() / 1e6 / completed;
+        }
+
+        /**
+         * Gets the average time completed runs took to execute.
+         *
+         * @return The average run time in milliseconds
+         */
+        public double getAverageRunMillis() {
+            long completed = this.completed.get();
+            return completed == 0 ? 0 : this.totalRunNanos.get() / 1e6 / completed;
+        }
+
+        private final class QueuedRun implements Runnable {
+
+            private final Runnable runnable;
+            private final long queuedAt = System.nanoTime();
+
+            QueuedRun(Runnable runnable) {
+                this.runnable = runnable;
+            }
+
+            @Override
+            public void run() {
+                long start = System.nanoTime();
+                try {
+                    this.runnable.run();
+                } finally {
+                    long end = System.nanoTime();
+                    PluginQueue.this.totalWaitNanos.addAndGet(start - this.queuedAt);
+                    PluginQueue.this.totalRunNanos.addAndGet(end - start);
+                    PluginQueue.this.completed.incrementAndGet();
+                    PluginQueue.this.running.decrementAndGet();
+                    PluginQueue.this.drain();
+                }
+            }
+        }
+    }
+
+}
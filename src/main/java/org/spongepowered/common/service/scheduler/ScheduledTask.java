@@ -42,6 +42,7 @@ public class ScheduledTask implements Task {
     private final PluginContainer owner;
     private final Runnable runnableBody;
     private long timestamp;
+    private long nextRun;
     private ScheduledTaskState state;
     private final UUID id;
     private final String name;
@@ -145,6 +146,20 @@ void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Gets the timestamp at which this task is next due, in the same units as
+     * {@link #getTimestamp()}. Only changed while the task is not queued.
+     *
+     * @return The next run timestamp
+     */
+    long getNextRun() {
+        return this.nextRun;
+    }
+
+    void setNextRun(long nextRun) {
+        this.nextRun = nextRun;
+    }
+
     ScheduledTaskState getState() {
         return this.state;
     }
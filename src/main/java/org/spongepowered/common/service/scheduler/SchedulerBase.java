@@ -30,15 +30,37 @@
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.service.scheduler.Task;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.timings.SpongeTimings;
 
+import java.util.Comparator;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
 
 abstract class SchedulerBase {
 
-    // The simple queue of all pending (and running) ScheduledTasks
+    // How long to wait before trying a one-shot task again if its run was
+    // rejected, in the units of the wall clock timestamp
+    private static final long REJECTED_RETRY_DELAY = 50L;
+
+    private static final Comparator<ScheduledTask> NEXT_RUN_ORDER = new Comparator<ScheduledTask>() {
+
+        @Override
+        public int compare(ScheduledTask o1, ScheduledTask o2) {
+            long run1 = o1.getNextRun();
+            long run2 = o2.getNextRun();
+            return run1 < run2 ? -1 : run1 > run2 ? 1 : 0;
+        }
+    };
+
+    // All pending (and running) ScheduledTasks, for lookups by id
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // The pending tasks ordered by the timestamp they are next due at. Tick
+    // and wall clock timestamps are kept apart as they cannot be compared.
+    private final Queue<ScheduledTask> wallClockQueue = new PriorityBlockingQueue<ScheduledTask>(11, NEXT_RUN_ORDER);
+    private final Queue<ScheduledTask> tickQueue = new PriorityBlockingQueue<ScheduledTask>(11, NEXT_RUN_ORDER);
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -62,15 +84,27 @@ protected long getTimestamp(ScheduledTask task) {
         return System.currentTimeMillis();
     }
 
+    /**
+     * Gets whether {@link #getTimestamp(ScheduledTask)} currently returns a
+     * tick count rather than wall clock time for the task.
+     *
+     * @param task The task
+     * @return True if the task is currently measured in ticks
+     */
+    protected boolean isTickBased(ScheduledTask task) {
+        return false;
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
-     * next call to {@link #runTick}.
+     * next call to {@link #runTick} after its delay has passed.
      *
      * @param task The task to add
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
         this.taskMap.put(task.getUniqueId(), task);
+        this.enqueue(task, task.offset);
     }
 
     /**
@@ -82,25 +116,51 @@ protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
     }
 
+    private void enqueue(ScheduledTask task, long threshold) {
+        long timestamp = task.getTimestamp();
+        task.setNextRun(threshold >= Long.MAX_VALUE - timestamp ? Long.MAX_VALUE : timestamp + threshold);
+        (this.isTickBased(task) ? this.tickQueue : this.wallClockQueue).add(task);
+    }
+
+    /**
+     * Gets the wall clock time at which the earliest pending wall clock task
+     * is due.
+     *
+     * @return The next run time in milliseconds, or {@link Long#MAX_VALUE} if
+     *     no wall clock task is pending
+     */
+    protected long getNextWallClockRun() {
+        ScheduledTask task = this.wallClockQueue.peek();
+        return task == null ? Long.MAX_VALUE : task.getNextRun();
+    }
+
     protected Optional<Task> getTask(UUID id) {
-        return Optional.<Task>fromNullable(this.taskMap.get(id));
+        ScheduledTask task = this.taskMap.get(id);
+        // Cancelled tasks are only dropped once they come due
+        if (task == null || task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            return Optional.absent();
+        }
+        return Optional.<Task>of(task);
     }
 
     protected Set<Task> getScheduledTasks() {
-        synchronized (this.taskMap) {
-            return Sets.<Task>newHashSet(this.taskMap.values());
+        Set<Task> tasks = Sets.newHashSet();
+        for (ScheduledTask task : this.taskMap.values()) {
+            if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+                tasks.add(task);
+            }
         }
+        return tasks;
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks which are due.
      */
     protected final void runTick() {
         this.preTick();
         try {
-            for (ScheduledTask task : this.taskMap.values()) {
-                this.processTask(task);
-            }
+            this.processQueue(this.wallClockQueue);
+            this.processQueue(this.tickQueue);
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -126,8 +186,20 @@ protected void postTick() {
     protected void finallyPostTick() {
     }
 
+    private void processQueue(Queue<ScheduledTask> queue) {
+        ScheduledTask head;
+        // Only the tasks at the front of the queue can be due, stop at the
+        // first one which is not.
+        while ((head = queue.peek()) != null) {
+            if (head.getState() != ScheduledTask.ScheduledTaskState.CANCELED && head.getNextRun() > this.getTimestamp(head)) {
+                break;
+            }
+            this.processTask(queue.poll());
+        }
+    }
+
     /**
-     * Processes the task.
+     * Processes a task taken from the front of the queue.
      *
      * @param task The task to process
      */
@@ -138,29 +210,45 @@ protected void processTask(ScheduledTask task) {
             this.removeTask(task);
             return;
         }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
+        // A task added concurrently may have been taken from the queue ahead
+        // of the one which was checked, put it back if it isn't due yet.
+        if (task.getNextRun() > this.getTimestamp(task)) {
+            (this.isTickBased(task) ? this.tickQueue : this.wallClockQueue).add(task);
+            return;
         }
-        // This moment is 'now'
-        long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
-        // Repeating tasks get a reset-timestamp each time they are set RUNNING
-        // If the task has a period of 0 (zero) this task will not repeat, and
-        // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        // If the previous run has not started yet, skip this one rather than
+        // piling up runs of the same task.
+        if (task.getState() == ScheduledTask.ScheduledTaskState.SWITCHING) {
             task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
+            this.enqueue(task, task.period);
+            return;
+        }
+        // Repeating tasks get a reset-timestamp each time they are started and
+        // are queued again for one interval (period) later. If the task has a
+        // period of 0 (zero) this task will not repeat, and is removed after
+        // we start it.
+        ScheduledTask.ScheduledTaskState previousState = task.getState();
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        if (!startTask(task)) {
+            // The run was rejected. A repeating task tries again after its
+            // interval, a one-shot task is kept and tried again shortly.
             if (task.period == 0L) {
-                this.removeTask(task);
+                task.setState(previousState);
+                task.setTimestamp(this.getTimestamp(task));
+                this.enqueue(task, REJECTED_RETRY_DELAY);
+            } else {
+                task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                task.setTimestamp(this.getTimestamp(task));
+                this.enqueue(task, task.period);
             }
+            return;
+        }
+        // If task is one time shot, remove it from the map.
+        if (task.period == 0L) {
+            this.removeTask(task);
+        } else {
+            this.enqueue(task, task.period);
         }
     }
 
@@ -168,19 +256,25 @@ protected void processTask(ScheduledTask task) {
      * Begin the execution of a task. Exceptions are caught and logged.
      *
      * @param task The task to start
+     * @return False if the run was rejected and did not start
      */
-    protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(new Runnable() {
+    protected boolean startTask(final ScheduledTask task) {
+        return this.executeTaskRunnable(task, new Runnable() {
 
             @Override
             public void run() {
                 task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                boolean timings = SpongeTimings.isEnabled();
+                long start = timings ? System.nanoTime() : 0L;
                 try {
                     task.getRunnable().run();
                 } catch (Throwable t) {
                     Sponge.getLogger().error("The Scheduler tried to run the task {} owned by {}, but an error occured.", task.getName(),
                             task.getOwner(), t);
                 }
+                if (timings) {
+                    SpongeTimings.ofPlugin(task.getOwner(), "Task: " + task.getRunnable().getClass().getName()).stop(start);
+                }
             }
         });
     }
@@ -188,8 +282,10 @@ public void run() {
     /**
      * Actually run the runnable of a task.
      *
+     * @param task The task being run
      * @param runnable The runnable to run
+     * @return False if the run was rejected and did not start
      */
-    protected abstract void executeTaskRunnable(Runnable runnable);
+    protected abstract boolean executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
 }
@@ -155,6 +155,15 @@ void submit(ScheduledTask task) {
         getDelegate(task).addTask(task);
     }
 
+    /**
+     * Gets the executor running asynchronous tasks, for its statistics.
+     *
+     * @return The executor, if any asynchronous task has run yet
+     */
+    public Optional<AsyncTaskExecutor> getAsyncExecutor() {
+        return this.asyncScheduler.getExecutor();
+    }
+
     /**
      * Ticks the synchronous scheduler.
      */
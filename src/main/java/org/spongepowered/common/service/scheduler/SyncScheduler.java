@@ -62,8 +62,17 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
+    protected boolean isTickBased(ScheduledTask task) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
+            return task.delayIsTicks;
+        }
+        return task.intervalIsTicks;
+    }
+
+    @Override
+    protected boolean executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         runnable.run();
+        return true;
     }
 
 }
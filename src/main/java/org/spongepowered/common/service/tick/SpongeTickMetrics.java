@@ -0,0 +1,157 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.tick;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.service.scheduler.SpongeScheduler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public final class SpongeTickMetrics implements TickMetricsService {
+
+    private static final SpongeTickMetrics INSTANCE = new SpongeTickMetrics();
+
+    // The server TPS is sampled every five seconds and folded into moving
+    // averages which decay over one, five and fifteen minutes.
+    private static final int SAMPLE_INTERVAL = 100;
+    private static final double[] DECAY = {
+            Math.exp(-5D / 60D),
+            Math.exp(-5D / (60D * 5D)),
+            Math.exp(-5D / (60D * 15D))
+    };
+
+    private final Map<Integer, WorldTickMetrics> worlds = Maps.newConcurrentMap();
+    private final double[] tps = {20D, 20D, 20D};
+    private volatile double[] tpsSnapshot = this.tps.clone();
+    private long sampleStart;
+    private int sampleTicks;
+
+    private SpongeTickMetrics() {
+    }
+
+    public static SpongeTickMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts tracking a world, called when the world is set in the
+     * {@link org.spongepowered.common.world.DimensionManager}.
+     *
+     * @param dimensionId The dimension id
+     * @param world The world
+     */
+    public void addWorld(int dimensionId, WorldServer world) {
+        this.worlds.put(dimensionId, new WorldTickMetrics(world, dimensionId));
+    }
+
+    public void removeWorld(int dimensionId) {
+        this.worlds.remove(dimensionId);
+    }
+
+    /**
+     * Records the start of a server tick.
+     */
+    public void onServerTick() {
+        long now = System.nanoTime();
+        if (this.sampleStart == 0L) {
+            this.sampleStart = now;
+            return;
+        }
+        if (++this.sampleTicks == SAMPLE_INTERVAL) {
+            double current = 1E9D / (now - this.sampleStart) * SAMPLE_INTERVAL;
+            for (int i = 0; i < this.tps.length; i++) {
+                this.tps[i] = this.tps[i] * DECAY[i] + current * (1D - DECAY[i]);
+            }
+            this.tpsSnapshot = this.tps.clone();
+            this.sampleStart = now;
+            this.sampleTicks = 0;
+        }
+    }
+
+    public void startWorldTick(int dimensionId) {
+        WorldTickMetrics metrics = this.worlds.get(dimensionId);
+        if (metrics != null) {
+            metrics.startTick();
+        }
+    }
+
+    /**
+     * Records the end of the world tick itself, before the entities of the
+     * world are updated.
+     *
+     * @param dimensionId The dimension id
+     */
+    public void endWorldTickPhase(int dimensionId) {
+        WorldTickMetrics metrics = this.worlds.get(dimensionId);
+        if (metrics != null) {
+            metrics.endWorldTick();
+        }
+    }
+
+    public void endWorldTick(int dimensionId) {
+        WorldTickMetrics metrics = this.worlds.get(dimensionId);
+        if (metrics != null) {
+            metrics.endTick();
+        }
+    }
+
+    public void onChunkLoad(int dimensionId) {
+        WorldTickMetrics metrics = this.worlds.get(dimensionId);
+        if (metrics != null) {
+            metrics.onChunkLoad();
+        }
+    }
+
+    @Override
+    public double[] getTps() {
+        return this.tpsSnapshot.clone();
+    }
+
+    @Override
+    public int getScheduledTaskCount() {
+        return SpongeScheduler.getInstance().getScheduledTasks(false).size();
+    }
+
+    @Override
+    public Collection<WorldTickStats> getWorldStats() {
+        List<WorldTickStats> stats = Lists.newArrayList();
+        for (WorldTickMetrics metrics : this.worlds.values()) {
+            stats.add(metrics.snapshot());
+        }
+        return stats;
+    }
+
+    @Override
+    public Optional<WorldTickStats> getWorldStats(int dimensionId) {
+        WorldTickMetrics metrics = this.worlds.get(dimensionId);
+        return metrics == null ? Optional.<WorldTickStats>absent() : Optional.of(metrics.snapshot());
+    }
+
+}
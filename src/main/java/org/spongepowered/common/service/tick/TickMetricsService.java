@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.tick;
+
+import com.google.common.base.Optional;
+
+import java.util.Collection;
+
+/**
+ * Provides rolling tick statistics of the server and each loaded world.
+ */
+public interface TickMetricsService {
+
+    /**
+     * Gets the average ticks per second over the last one, five and fifteen
+     * minutes.
+     *
+     * @return The averages, one minute first
+     */
+    double[] getTps();
+
+    /**
+     * Gets the number of synchronous tasks currently scheduled.
+     *
+     * @return The number of tasks
+     */
+    int getScheduledTaskCount();
+
+    /**
+     * Gets a snapshot of the statistics of every loaded world.
+     *
+     * @return The world statistics
+     */
+    Collection<WorldTickStats> getWorldStats();
+
+    /**
+     * Gets a snapshot of the statistics of the world with the given dimension
+     * id.
+     *
+     * @param dimensionId The dimension id
+     * @return The world statistics, if the world is loaded
+     */
+    Optional<WorldTickStats> getWorldStats(int dimensionId);
+
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.tick;
+
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.interfaces.IMixinWorld;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The rolling tick statistics of a single world.
+ *
+ * <p>Only the server thread records ticks. Every tick writes one slot of the
+ * ring buffers before publishing the new tick count, so readers on other
+ * threads never need a lock.</p>
+ */
+final class WorldTickMetrics {
+
+    // One minute of ticks
+    static final int WINDOW = 1200;
+
+    private final WorldServer world;
+    private final int dimensionId;
+    private final AtomicLongArray tickNanos = new AtomicLongArray(WINDOW);
+    // The part of each tick spent in the world tick itself, the rest is
+    // spent updating entities and tile entities
+    private final AtomicLongArray worldTickNanos = new AtomicLongArray(WINDOW);
+    private final AtomicIntegerArray chunkLoads = new AtomicIntegerArray(WINDOW);
+    private volatile long ticks;
+    private long tickStart;
+    private long worldTickEnd;
+    private int pendingChunkLoads;
+
+    WorldTickMetrics(WorldServer world, int dimensionId) {
+        this.world = world;
+        this.dimensionId = dimensionId;
+    }
+
+    void startTick() {
+        this.tickStart = System.nanoTime();
+    }
+
+    void endWorldTick() {
+        if (this.tickStart != 0L) {
+            this.worldTickEnd = System.nanoTime();
+        }
+    }
+
+    void endTick() {
+        if (this.tickStart == 0L) {
+            return;
+        }
+        long now = System.nanoTime();
+        long ticks = this.ticks;
+        int slot = (int) (ticks % WINDOW);
+        this.tickNanos.set(slot, now - this.tickStart);
+        this.worldTickNanos.set(slot, this.worldTickEnd == 0L ? 0L : this.worldTickEnd - this.tickStart);
+        this.chunkLoads.set(slot, this.pendingChunkLoads);
+        this.tickStart = 0L;
+        this.worldTickEnd = 0L;
+        this.pendingChunkLoads = 0;
+        this.ticks = ticks + 1;
+    }
+
+    void onChunkLoad() {
+        this.pendingChunkLoads++;
+    }
+
+    WorldTickStats snapshot() {
+        int sampled = (int) Math.min(this.ticks, WINDOW);
+        long[] durations = new long[sampled];
+        long total = 0L;
+        long worldTotal = 0L;
+        int loads = 0;
+        for (int i = 0; i < sampled; i++) {
+            durations[i] = this.tickNanos.get(i);
+            total += durations[i];
+            worldTotal += this.worldTickNanos.get(i);
+            loads += this.chunkLoads.get(i);
+        }
+        Arrays.sort(durations);
+        return new WorldTickStats(this.world.getWorldInfo().getWorldName(), this.dimensionId, sampled,
+                mean(total, sampled), percentile(durations, 0.95), percentile(durations, 0.99),
+                sampled == 0 ? 0 : durations[sampled - 1] / 1e6, mean(worldTotal, sampled), mean(total - worldTotal, sampled),
+                this.world.loadedEntityList.size(),
+                ((IMixinWorld) this.world).getActiveEntityCount(), ((IMixinWorld) this.world).getInactiveEntityCount(),
+                this.world.loadedTileEntityList.size(), this.world.theChunkProviderServer.getLoadedChunkCount(), loads);
+    }
+
+    private static double mean(long totalNanos, int sampled) {
+        return sampled == 0 ? 0 : totalNanos / 1e6 / sampled;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.tick;
+
+import com.google.common.base.Objects;
+
+/**
+ * An immutable snapshot of the tick statistics of a world.
+ *
+ * <p>Tick durations cover the world tick and the entity and tile entity
+ * updates of the sampled ticks, the counts are taken when the snapshot is
+ * created.</p>
+ */
+public final class WorldTickStats {
+
+    private final String worldName;
+    private final int dimensionId;
+    private final int sampledTicks;
+    private final double meanTickMillis;
+    private final double p95TickMillis;
+    private final double p99TickMillis;
+    private final double maxTickMillis;
+    private final double meanWorldTickMillis;
+    private final double meanEntityTickMillis;
+    private final int entities;
+    private final int activeEntities;
+    private final int inactiveEntities;
+    private final int tileEntities;
+    private final int loadedChunks;
+    private final int chunkLoads;
+
+    WorldTickStats(String worldName, int dimensionId, int sampledTicks, double meanTickMillis, double p95TickMillis, double p99TickMillis,
+            double maxTickMillis, double meanWorldTickMillis, double meanEntityTickMillis, int entities, int activeEntities,
+            int inactiveEntities, int tileEntities, int loadedChunks, int chunkLoads) {
+        this.worldName = worldName;
+        this.dimensionId = dimensionId;
+        this.sampledTicks = sampledTicks;
+        this.meanTickMillis = meanTickMillis;
+        this.p95TickMillis = p95TickMillis;
+        this.p99TickMillis = p99TickMillis;
+        this.maxTickMillis = maxTickMillis;
+        this.meanWorldTickMillis = meanWorldTickMillis;
+        this.meanEntityTickMillis = meanEntityTickMillis;
+        this.entities = entities;
+        this.activeEntities = activeEntities;
+        this.inactiveEntities = inactiveEntities;
+        this.tileEntities = tileEntities;
+        this.loadedChunks = loadedChunks;
+        this.chunkLoads = chunkLoads;
+    }
+
+    public String getWorldName() {
+        return this.worldName;
+    }
+
+    public int getDimensionId() {
+        return this.dimensionId;
+    }
+
+    /**
+     * Gets the number of ticks the durations were taken from, at most one
+     * minute worth.
+     *
+     * @return The number of sampled ticks
+     */
+    public int getSampledTicks() {
+        return this.sampledTicks;
+    }
+
+    public double getMeanTickMillis() {
+        return this.meanTickMillis;
+    }
+
+    public double getP95TickMillis() {
+        return this.p95TickMillis;
+    }
+
+    public double getP99TickMillis() {
+        return this.p99TickMillis;
+    }
+
+    public double getMaxTickMillis() {
+        return this.maxTickMillis;
+    }
+
+    /**
+     * Gets the mean time spent in the world tick itself, which covers block
+     * ticks, weather, spawning and chunk unloading.
+     *
+     * @return The mean world tick phase in milliseconds
+     */
+    public double getMeanWorldTickMillis() {
+        return this.meanWorldTickMillis;
+    }
+
+    /**
+     * Gets the mean time spent updating entities and tile entities.
+     *
+     * @return The mean entity phase in milliseconds
+     */
+    public double getMeanEntityTickMillis() {
+        return this.meanEntityTickMillis;
+    }
+
+    public int getEntities() {
+        return this.entities;
+    }
+
+    public int getActiveEntities() {
+        return this.activeEntities;
+    }
+
+    public int getInactiveEntities() {
+        return this.inactiveEntities;
+    }
+
+    public int getTileEntities() {
+        return this.tileEntities;
+    }
+
+    public int getLoadedChunks() {
+        return this.loadedChunks;
+    }
+
+    /**
+     * Gets the number of chunks loaded during the sampled ticks.
+     *
+     * @return The number of chunk loads
+     */
+    public int getChunkLoads() {
+        return this.chunkLoads;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("world", this.worldName)
+                .add("dimensionId", this.dimensionId)
+                .add("meanTickMillis", this.meanTickMillis)
+                .add("p95TickMillis", this.p95TickMillis)
+                .add("p99TickMillis", this.p99TickMillis)
+                .add("maxTickMillis", this.maxTickMillis)
+                .toString();
+    }
+
+}
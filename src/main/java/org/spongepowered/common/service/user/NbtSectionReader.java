@@ -0,0 +1,193 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import com.google.common.io.ByteStreams;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads selected top level tags of a compressed NBT file, skipping over the
+ * rest of the file without creating tags for it.
+ */
+final class NbtSectionReader {
+
+    private static final byte TAG_END = 0;
+    private static final byte TAG_COMPOUND = 10;
+
+    private NbtSectionReader() {
+    }
+
+    /**
+     * Reads the given top level tags of a compressed NBT file.
+     *
+     * @param file The file
+     * @param keys The keys of the tags to read
+     * @return A compound containing the tags that were found
+     * @throws IOException If the file could not be read or is not NBT
+     */
+    static NBTTagCompound read(File file, Set<String> keys) throws IOException {
+        if (keys.isEmpty()) {
+            return new NBTTagCompound();
+        }
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        try {
+            if (input.readByte() != TAG_COMPOUND) {
+                throw new IOException("Root tag must be a named compound tag");
+            }
+            input.readUTF();
+
+            // The selected tags are copied into a small stream of their own,
+            // which is then read as usual
+            ByteArrayOutputStream selected = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(selected);
+            output.writeByte(TAG_COMPOUND);
+            output.writeUTF("");
+            byte type;
+            while ((type = input.readByte()) != TAG_END) {
+                String key = input.readUTF();
+                if (keys.contains(key)) {
+                    output.writeByte(type);
+                    output.writeUTF(key);
+                    copyPayload(input, type, output);
+                } else {
+                    copyPayload(input, type, null);
+                }
+            }
+            output.writeByte(TAG_END);
+            return CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(selected.toByteArray())));
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Copies the payload of a tag to the output, or skips it if there is no
+     * output.
+     */
+    private static void copyPayload(DataInputStream input, byte type, @Nullable DataOutput output) throws IOException {
+        switch (type) {
+            case 1:
+                copy(input, 1, output);
+                break;
+            case 2:
+                copy(input, 2, output);
+                break;
+            case 3:
+            case 5:
+                copy(input, 4, output);
+                break;
+            case 4:
+            case 6:
+                copy(input, 8, output);
+                break;
+            case 7:
+                copy(input, readLength(input, output), output);
+                break;
+            case 8:
+                copy(input, input.readUnsignedShort(), output, 2);
+                break;
+            case 9:
+                byte elementType = input.readByte();
+                if (output != null) {
+                    output.writeByte(elementType);
+                }
+                int count = readLength(input, output);
+                for (int i = 0; i < count; i++) {
+                    copyPayload(input, elementType, output);
+                }
+                break;
+            case 10:
+                byte entryType;
+                while ((entryType = input.readByte()) != TAG_END) {
+                    if (output != null) {
+                        output.writeByte(entryType);
+                    }
+                    copy(input, input.readUnsignedShort(), output, 2);
+                    copyPayload(input, entryType, output);
+                }
+                if (output != null) {
+                    output.writeByte(TAG_END);
+                }
+                break;
+            case 11:
+                copy(input, readLength(input, output) * 4, output);
+                break;
+            default:
+                throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static int readLength(DataInputStream input, @Nullable DataOutput output) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Negative NBT length " + length);
+        }
+        if (output != null) {
+            output.writeInt(length);
+        }
+        return length;
+    }
+
+    private static void copy(DataInputStream input, int length, @Nullable DataOutput output) throws IOException {
+        if (output == null) {
+            ByteStreams.skipFully(input, length);
+            return;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        output.write(bytes);
+    }
+
+    /**
+     * Copies a length prefixed value, writing the prefix of the given size
+     * first.
+     */
+    private static void copy(DataInputStream input, int length, @Nullable DataOutput output, int prefixSize) throws IOException {
+        if (output != null) {
+            if (prefixSize == 2) {
+                output.writeShort(length);
+            } else {
+                output.writeInt(length);
+            }
+        }
+        copy(input, length, output);
+    }
+
+}
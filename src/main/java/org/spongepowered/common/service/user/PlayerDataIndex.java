@@ -0,0 +1,171 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import org.spongepowered.common.Sponge;
+
+import java.io.File;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of the player data files in a player data directory, so finding
+ * the data file of a user doesn't list the whole directory.
+ *
+ * <p>The index is built once on a background thread and then kept up to date
+ * when player data is saved or deleted through the server. Until it is built,
+ * lookups check for the file directly.</p>
+ */
+public final class PlayerDataIndex {
+
+    private static final String DAT_EXTENSION = ".dat";
+
+    @Nullable private static volatile PlayerDataIndex instance;
+
+    private final File directory;
+    private final Set<UUID> uniqueIds = Sets.newConcurrentHashSet();
+    // Guarded by this until the index is built
+    private final Set<UUID> deletedWhileBuilding = Sets.newHashSet();
+    private volatile boolean built;
+
+    /**
+     * Gets the index of the given player data directory, starting to build it
+     * if this is the first time it is used.
+     *
+     * @param directory The player data directory
+     * @return The index
+     */
+    static synchronized PlayerDataIndex of(File directory) {
+        if (instance == null || !instance.directory.equals(directory)) {
+            instance = new PlayerDataIndex(directory);
+            instance.startBuilding();
+        }
+        return instance;
+    }
+
+    /**
+     * Records that player data was written to the given directory.
+     *
+     * @param directory The player data directory
+     * @param uniqueId The unique id of the player
+     */
+    public static void onSaved(File directory, UUID uniqueId) {
+        PlayerDataIndex index = instance;
+        if (index != null && index.directory.equals(directory)) {
+            index.add(uniqueId);
+        }
+    }
+
+    private PlayerDataIndex(File directory) {
+        this.directory = directory;
+    }
+
+    private void startBuilding() {
+        Thread thread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                build();
+            }
+        }, "Sponge Player Data Indexer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void build() {
+        long start = System.currentTimeMillis();
+        String[] fileNames = this.directory.list();
+        Set<UUID> found = Sets.newHashSetWithExpectedSize(fileNames == null ? 0 : fileNames.length);
+        if (fileNames != null) {
+            for (String fileName : fileNames) {
+                if (fileName.endsWith(DAT_EXTENSION)) {
+                    try {
+                        found.add(UUID.fromString(fileName.substring(0, fileName.length() - DAT_EXTENSION.length())));
+                    } catch (IllegalArgumentException e) {
+                        // Not player data
+                    }
+                }
+            }
+        }
+        synchronized (this) {
+            found.removeAll(this.deletedWhileBuilding);
+            this.deletedWhileBuilding.clear();
+            this.uniqueIds.addAll(found);
+            this.built = true;
+        }
+        Sponge.getLogger().debug("Indexed {} player data files in {} ms", found.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Gets the data file of the given user.
+     *
+     * @param uniqueId The unique id of the user
+     * @return The data file, or null if the user has none
+     */
+    @Nullable
+    File getDataFile(UUID uniqueId) {
+        if (this.built) {
+            return this.uniqueIds.contains(uniqueId) ? toFile(uniqueId) : null;
+        }
+        File file = toFile(uniqueId);
+        return file.isFile() ? file : null;
+    }
+
+    /**
+     * Gets the unique ids of all users with a data file, if the index is
+     * built yet.
+     *
+     * @return The unique ids, or null if the index isn't built yet
+     */
+    @Nullable
+    Set<UUID> getAll() {
+        return this.built ? ImmutableSet.copyOf(this.uniqueIds) : null;
+    }
+
+    void add(UUID uniqueId) {
+        synchronized (this) {
+            this.deletedWhileBuilding.remove(uniqueId);
+        }
+        this.uniqueIds.add(uniqueId);
+    }
+
+    void remove(UUID uniqueId) {
+        synchronized (this) {
+            if (!this.built) {
+                this.deletedWhileBuilding.add(uniqueId);
+            }
+        }
+        this.uniqueIds.remove(uniqueId);
+    }
+
+    private File toFile(UUID uniqueId) {
+        return new File(this.directory, uniqueId.toString() + DAT_EXTENSION);
+    }
+
+}
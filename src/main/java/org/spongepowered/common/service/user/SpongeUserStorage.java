@@ -27,16 +27,25 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.spongepowered.api.GameProfile;
 import org.spongepowered.api.entity.player.User;
 import org.spongepowered.api.service.user.UserStorage;
 
 import java.util.Collection;
-import java.util.Locale;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import javax.annotation.Nullable;
+
 public class SpongeUserStorage implements UserStorage {
 
     @Override
@@ -44,6 +53,54 @@ public Optional<User> get(UUID uniqueId) {
         return Optional.fromNullable(UserDiscoverer.findByUuid(checkNotNull(uniqueId, "uniqueId")));
     }
 
+    /**
+     * Gets the data of a user without blocking on reading its player data
+     * file. When called on the server thread, the file is read before
+     * returning and the future is already complete.
+     *
+     * @param uniqueId The UUID of the user
+     * @return The future user, or {@link Optional#absent()} if not found
+     * @see #get(UUID)
+     */
+    public ListenableFuture<Optional<User>> getAsync(UUID uniqueId) {
+        return Futures.transform(UserDiscoverer.findByUuidAsync(checkNotNull(uniqueId, "uniqueId")), new Function<User, Optional<User>>() {
+
+            @Override
+            public Optional<User> apply(@Nullable User user) {
+                return Optional.fromNullable(user);
+            }
+        });
+    }
+
+    /**
+     * Gets the data of many users at once. The player data files of offline
+     * users are read in parallel, unless called on the server thread, where
+     * they are read before returning like {@link #getAsync(UUID)} does.
+     *
+     * @param uniqueIds The UUIDs of the users
+     * @return The future users by UUID, {@link Optional#absent()} for users
+     *     that were not found
+     * @see #getAsync(UUID)
+     */
+    public ListenableFuture<Map<UUID, Optional<User>>> getAllAsync(Iterable<UUID> uniqueIds) {
+        final List<UUID> ids = Lists.newArrayList(Sets.newLinkedHashSet(checkNotNull(uniqueIds, "uniqueIds")));
+        List<ListenableFuture<User>> futures = Lists.newArrayListWithCapacity(ids.size());
+        for (UUID uniqueId : ids) {
+            futures.add(UserDiscoverer.findByUuidAsync(checkNotNull(uniqueId, "uniqueId")));
+        }
+        return Futures.transform(Futures.allAsList(futures), new Function<List<User>, Map<UUID, Optional<User>>>() {
+
+            @Override
+            public Map<UUID, Optional<User>> apply(List<User> users) {
+                Map<UUID, Optional<User>> result = Maps.newLinkedHashMap();
+                for (int i = 0; i < ids.size(); i++) {
+                    result.put(ids.get(i), Optional.fromNullable(users.get(i)));
+                }
+                return result;
+            }
+        });
+    }
+
     @Override
     public Optional<User> get(String lastKnownName) {
         checkNotNull(lastKnownName, "lastKnownName");
@@ -82,15 +139,46 @@ public boolean delete(User user) {
 
     @Override
     public Collection<GameProfile> match(String lastKnownName) {
-        lastKnownName = checkNotNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
-        Collection<org.spongepowered.api.GameProfile> allProfiles = UserDiscoverer.getAllProfiles();
-        Collection<org.spongepowered.api.GameProfile> matching = Sets.newHashSet();
-        for (org.spongepowered.api.GameProfile profile : allProfiles) {
-            if (profile.getName().startsWith(lastKnownName)) {
-                matching.add(profile);
-            }
-        }
-        return matching;
+        return UserDiscoverer.matchProfiles(checkNotNull(lastKnownName, "lastKnownName"));
+    }
+
+    /**
+     * Gets the hit and miss counts of the cache of users looked up by this
+     * storage.
+     *
+     * @return The cache statistics
+     */
+    public CacheStats getCacheStats() {
+        return UserDiscoverer.getCacheStats();
+    }
+
+    /**
+     * Gets the number of users currently cached.
+     *
+     * @return The number of cached users
+     */
+    public long getCacheSize() {
+        return UserDiscoverer.getCacheSize();
+    }
+
+    /**
+     * Called when a profile is added to the white or ban list, so users that
+     * never joined can be matched by name.
+     *
+     * @param profile The listed profile
+     */
+    public static void onProfileListed(com.mojang.authlib.GameProfile profile) {
+        UserDiscoverer.onProfileListed(checkNotNull(profile, "profile"));
+    }
+
+    /**
+     * Called when a profile is removed from the white or ban list, so users
+     * that are no longer known aren't matched by name.
+     *
+     * @param profile The removed profile
+     */
+    public static void onProfileUnlisted(com.mojang.authlib.GameProfile profile) {
+        UserDiscoverer.onProfileUnlisted(checkNotNull(profile, "profile").getId());
     }
 
 }
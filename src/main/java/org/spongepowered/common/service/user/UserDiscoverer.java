@@ -24,10 +24,20 @@
  */
 package org.spongepowered.common.service.user;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mojang.authlib.GameProfile;
-import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.BanEntry;
 import net.minecraft.server.management.PlayerProfileCache;
@@ -38,31 +48,143 @@
 import net.minecraft.server.management.UserListWhitelistEntry;
 import net.minecraft.world.storage.SaveHandler;
 import org.spongepowered.api.entity.player.User;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
+import org.spongepowered.common.service.profile.ProfileNameIndex;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 class UserDiscoverer {
 
-    private static final Map<UUID, User> userCache = Maps.newHashMap();
+    // Online players are not affected by eviction, their user is found
+    // through the player and put back into the cache
+    private static final Cache<UUID, User> userCache = buildUserCache();
+
+    private static final int IO_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // Users currently being loaded by findByUuidAsync, so concurrent requests
+    // for the same user share a single read of the data file
+    private static final ConcurrentMap<UUID, ListenableFuture<User>> loadingUsers = Maps.newConcurrentMap();
+
+    // Names of all known users, filled on the first match
+    private static final ProfileNameIndex userNames = new ProfileNameIndex();
+    private static volatile boolean userNamesFilled;
+
+    @Nullable private static ListeningExecutorService ioExecutor;
+
+    private static synchronized ListeningExecutorService getIoExecutor() {
+        if (ioExecutor == null) {
+            ioExecutor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(IO_THREADS, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge User Loader #%d")
+                    .setDaemon(true)
+                    .build()));
+        }
+        return ioExecutor;
+    }
+
+    private static Cache<UUID, User> buildUserCache() {
+        SpongeConfig.UsersCategory config = Sponge.getGlobalConfig().getConfig().getUsers();
+        return CacheBuilder.newBuilder()
+                .maximumSize(Math.max(0, config.getCacheMaxSize()))
+                .expireAfterAccess(Math.max(0, config.getCacheExpireMinutes()), TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
 
     static User create(com.mojang.authlib.GameProfile profile) {
         User user = (User) new SpongeUser(profile);
         userCache.put(profile.getId(), user);
+        userNames.add(profile);
         return user;
     }
 
+    /**
+     * Adds a profile of a user that only exists in the white or ban list to
+     * the known user names.
+     *
+     * @param profile The profile
+     */
+    static void onProfileListed(GameProfile profile) {
+        userNames.add(profile);
+    }
+
+    /**
+     * Removes the name of a user that was removed from the white or ban list
+     * from the known user names, unless the user is still known otherwise.
+     *
+     * @param uniqueId The UUID of the user
+     */
+    static void onProfileUnlisted(UUID uniqueId) {
+        if (userCache.getIfPresent(uniqueId) != null || getOnlinePlayer(uniqueId) != null || getPlayerDataFile(uniqueId) != null) {
+            return;
+        }
+        GameProfile key = new GameProfile(uniqueId, "");
+        if (MinecraftServer.getServer().getConfigurationManager().getWhitelistedPlayers().getEntry(key) != null
+                || MinecraftServer.getServer().getConfigurationManager().getBannedPlayers().getEntry(key) != null) {
+            return;
+        }
+        userNames.remove(uniqueId);
+    }
+
+    /**
+     * Gets the profiles of all known users whose name starts with the given
+     * prefix, ignoring case.
+     *
+     * @param prefix The name prefix
+     * @return The matching profiles, sorted by name
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Collection<org.spongepowered.api.GameProfile> matchProfiles(String prefix) {
+        if (!userNamesFilled) {
+            fillUserNames();
+        }
+        return (Collection) userNames.match(prefix);
+    }
+
+    private static synchronized void fillUserNames() {
+        if (userNamesFilled) {
+            return;
+        }
+        for (org.spongepowered.api.GameProfile profile : getAllProfiles()) {
+            userNames.add((GameProfile) profile);
+        }
+        userNamesFilled = true;
+    }
+
+    /**
+     * Gets the hit and miss counts of the user cache.
+     *
+     * @return The cache statistics
+     */
+    static CacheStats getCacheStats() {
+        return userCache.stats();
+    }
+
+    /**
+     * Gets the number of users currently cached.
+     *
+     * @return The number of cached users
+     */
+    static long getCacheSize() {
+        return userCache.size();
+    }
+
     /**
      * Searches for user data from a variety of places, in order of preference.
      * A user that has data in sponge may not necessarily have been online
@@ -73,15 +195,103 @@ static User create(com.mojang.authlib.GameProfile profile) {
      * @return The user data, or null if not found
      */
     static User findByUuid(UUID uniqueId) {
-        User user = userCache.get(uniqueId);
+        User user = userCache.getIfPresent(uniqueId);
         if (user != null) {
             return user;
         }
         user = getOnlinePlayer(uniqueId);
         if (user != null) {
+            userCache.put(uniqueId, user);
             return user;
         }
-        user = getFromStoredData(uniqueId);
+        // Note: Uses the overworld's player data
+        File dataFile = getPlayerDataFile(uniqueId);
+        return findStoredUser(uniqueId, dataFile == null ? null : readStoredData(dataFile));
+    }
+
+    /**
+     * Searches for user data like {@link #findByUuid}, but reads the player
+     * data file on an I/O thread. Only the parts of the file that
+     * {@link SpongeUser} reads are decoded. The user is created on the server
+     * thread, because looking up the profile cache and the ban and white lists
+     * is not thread safe.
+     *
+     * <p>Concurrent requests for the same user share the same future.
+     * Requests made on the server thread are completed before returning,
+     * because the server thread could not complete them while a caller on it
+     * waits for the future.</p>
+     *
+     * @param uniqueId The user's UUID
+     * @return The future user data, which completes with null if not found
+     */
+    static ListenableFuture<User> findByUuidAsync(final UUID uniqueId) {
+        User user = userCache.getIfPresent(uniqueId);
+        if (user != null) {
+            return Futures.immediateFuture(user);
+        }
+        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+            return Futures.immediateFuture(findByUuid(uniqueId));
+        }
+        user = getOnlinePlayer(uniqueId);
+        if (user != null) {
+            userCache.put(uniqueId, user);
+            return Futures.immediateFuture(user);
+        }
+        ListenableFuture<User> loading = loadingUsers.get(uniqueId);
+        if (loading != null) {
+            return loading;
+        }
+
+        final File dataFile = getPlayerDataFile(uniqueId);
+        ListenableFutureTask<NBTTagCompound> read = ListenableFutureTask.create(new Callable<NBTTagCompound>() {
+
+            @Override
+            public NBTTagCompound call() throws Exception {
+                return dataFile == null ? null : readStoredData(dataFile);
+            }
+        });
+        final ListenableFuture<User> future = Futures.transform(read, new AsyncFunction<NBTTagCompound, User>() {
+
+            @Override
+            public ListenableFuture<User> apply(@Nullable final NBTTagCompound data) throws Exception {
+                return MinecraftServer.getServer().callFromMainThread(new Callable<User>() {
+
+                    @Override
+                    public User call() throws Exception {
+                        User user = userCache.getIfPresent(uniqueId);
+                        if (user != null) {
+                            // Loaded by a synchronous lookup in the meantime
+                            return user;
+                        }
+                        return findStoredUser(uniqueId, data);
+                    }
+                });
+            }
+        });
+        loading = loadingUsers.putIfAbsent(uniqueId, future);
+        if (loading != null) {
+            return loading;
+        }
+        future.addListener(new Runnable() {
+
+            @Override
+            public void run() {
+                loadingUsers.remove(uniqueId, future);
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        getIoExecutor().execute(read);
+        return future;
+    }
+
+    /**
+     * Creates a user from its stored player data, or from the white or ban
+     * list if it has none.
+     */
+    private static User findStoredUser(UUID uniqueId, @Nullable NBTTagCompound data) {
+        User user = null;
+        if (data != null) {
+            user = getFromStoredData(uniqueId, data);
+        }
         if (user != null) {
             return user;
         }
@@ -110,17 +320,29 @@ static Collection<org.spongepowered.api.GameProfile> getAllProfiles() {
         Set<org.spongepowered.api.GameProfile> profiles = Sets.newHashSet();
 
         // Add all cached profiles
-        for (User user : userCache.values()) {
+        for (User user : userCache.asMap().values()) {
             profiles.add(user.getProfile());
         }
 
         // Add all known profiles from the data files
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(UUID.fromString(playerUuid));
-            if (profile != null) {
-                profiles.add((org.spongepowered.api.GameProfile) profile);
+        PlayerProfileCache profileCache = MinecraftServer.getServer().getPlayerProfileCache();
+        Set<UUID> uniqueIds = getPlayerDataIndex().getAll();
+        if (uniqueIds != null) {
+            for (UUID uniqueId : uniqueIds) {
+                GameProfile profile = profileCache.getProfileByUUID(uniqueId);
+                if (profile != null) {
+                    profiles.add((org.spongepowered.api.GameProfile) profile);
+                }
+            }
+        } else {
+            // Still indexing
+            SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
+            String[] uuids = saveHandler.getAvailablePlayerDat();
+            for (String playerUuid : uuids) {
+                GameProfile profile = profileCache.getProfileByUUID(UUID.fromString(playerUuid));
+                if (profile != null) {
+                    profiles.add((org.spongepowered.api.GameProfile) profile);
+                }
             }
         }
 
@@ -145,6 +367,8 @@ static boolean delete(UUID uniqueId) {
             // Don't delete online player's data
             return false;
         }
+        userCache.invalidate(uniqueId);
+        userNames.remove(uniqueId);
         boolean success = deleteStoredPlayerData(uniqueId);
         success = success && deleteWhitelistEntry(uniqueId);
         success = success && deleteBanlistEntry(uniqueId);
@@ -166,20 +390,20 @@ private static User getOnlinePlayer(UUID uniqueId) {
         return null;
     }
 
-    private static User getFromStoredData(UUID uniqueId) {
-        // Note: Uses the overworld's player data
-        File dataFile = getPlayerDataFile(uniqueId);
-        if (dataFile == null) {
-            return null;
+    private static NBTTagCompound readStoredData(File dataFile) {
+        try {
+            return NbtSectionReader.read(dataFile, SpongeUser.NBT_SECTIONS);
+        } catch (IOException e) {
+            SpongeHooks.logWarning("Corrupt user file {}. {}", dataFile, e);
+            return new NBTTagCompound();
         }
+    }
+
+    private static User getFromStoredData(UUID uniqueId, NBTTagCompound data) {
         GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(uniqueId);
         if (profile != null) {
             User user = create(profile);
-            try {
-                ((SpongeUser) user).readFromNbt(CompressedStreamTools.readCompressed(new FileInputStream(dataFile)));
-            } catch (IOException e) {
-                SpongeHooks.logWarning("Corrupt user file {}. {}", dataFile, e);
-            }
+            ((SpongeUser) user).readFromNbt(data);
             return user;
         } else {
             return null;
@@ -212,23 +436,25 @@ private static User getFromBanlist(UUID uniqueId) {
         return null;
     }
 
-    private static File getPlayerDataFile(UUID uniqueId) {
+    private static PlayerDataIndex getPlayerDataIndex() {
         // Note: Uses the overworld's player data
         SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            if (uniqueId.toString().equals(playerUuid)) {
-                return new File(saveHandler.playersDirectory, playerUuid + ".dat");
-            }
-        }
-        return null;
+        return PlayerDataIndex.of(saveHandler.playersDirectory);
+    }
+
+    private static File getPlayerDataFile(UUID uniqueId) {
+        return getPlayerDataIndex().getDataFile(uniqueId);
     }
 
     private static boolean deleteStoredPlayerData(UUID uniqueId) {
         File dataFile = getPlayerDataFile(uniqueId);
         if (dataFile != null) {
             try {
-                return dataFile.delete();
+                if (dataFile.delete()) {
+                    getPlayerDataIndex().remove(uniqueId);
+                    return true;
+                }
+                return false;
             } catch (SecurityException e) {
                 SpongeHooks.logWarning("Unable to delete file {} due to a security error. {}", dataFile, e);
                 return false;
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.util.IChatComponent;
+import org.spongepowered.api.text.Text;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Shares the components created for a text between equal texts, so texts
+ * that are created again for every message don't need to be converted again.
+ *
+ * <p>Only the text being converted is looked up, not its children, and the
+ * text passes its hash code in once it is computed, so a lookup compares the
+ * text tree at most once.</p>
+ */
+public final class LocalizedComponentCache {
+
+    private static final int MAX_CACHED_COMPONENTS = 2048;
+
+    private static final Cache<Key, Entry> entries = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_COMPONENTS)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private LocalizedComponentCache() {
+    }
+
+    /**
+     * Gets the component created for a text equal to the given text.
+     *
+     * @param text The text
+     * @param textHash The hash code of the text
+     * @param locale The locale of the component
+     * @return The cached component, or null if not cached
+     */
+    @Nullable
+    public static Entry get(Text text, int textHash, Locale locale) {
+        return entries.getIfPresent(new Key(text, textHash, locale));
+    }
+
+    /**
+     * Caches the component created for a text, unless a component was cached
+     * for an equal text in the meantime.
+     *
+     * @param text The text
+     * @param textHash The hash code of the text
+     * @param locale The locale of the component
+     * @param entry The component
+     * @return The cached component
+     */
+    public static Entry putIfAbsent(Text text, int textHash, Locale locale, Entry entry) {
+        Entry existing = entries.asMap().putIfAbsent(new Key(text, textHash, locale), entry);
+        return existing != null ? existing : entry;
+    }
+
+    /**
+     * A component created for a text, which must not be changed, and its
+     * JSON representation.
+     */
+    public static final class Entry {
+
+        private final IChatComponent component;
+        @Nullable private volatile String json;
+
+        public Entry(IChatComponent component) {
+            this.component = component;
+        }
+
+        public IChatComponent getComponent() {
+            return this.component;
+        }
+
+        public String getJson() {
+            String json = this.json;
+            if (json == null) {
+                json = IChatComponent.Serializer.componentToJson(this.component);
+                this.json = json;
+            }
+            return json;
+        }
+    }
+
+    private static final class Key {
+
+        private final Text text;
+        private final Locale locale;
+        private final int hashCode;
+
+        Key(Text text, int textHash, Locale locale) {
+            this.text = text;
+            this.locale = locale;
+            this.hashCode = 31 * textHash + locale.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.hashCode == other.hashCode && this.locale.equals(other.locale) && this.text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+}
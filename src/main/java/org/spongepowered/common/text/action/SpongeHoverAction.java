@@ -30,9 +30,9 @@
 import net.minecraft.stats.StatBase;
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.IChatComponent;
-import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.action.HoverAction;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.interfaces.text.IMixinText;
 import org.spongepowered.common.text.SpongeTexts;
 
 import java.util.Locale;
@@ -86,7 +86,8 @@ public static HoverEvent getHandle(HoverAction<?> action, Locale locale) {
                 break;
             }
             case SHOW_TEXT:
-                component = SpongeTexts.toComponent((Text) action.getResult());
+                // Part of the component of the text showing it
+                component = ((IMixinText) action.getResult()).toChildComponent(SpongeTexts.getDefaultLocale());
                 break;
             default:
                 throw new AssertionError();
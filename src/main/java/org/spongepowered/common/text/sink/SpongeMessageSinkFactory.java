@@ -25,24 +25,30 @@
 package org.spongepowered.common.text.sink;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.base.Function;
-import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.play.server.S02PacketChat;
 import net.minecraft.server.MinecraftServer;
+import org.spongepowered.api.entity.player.Player;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.chat.ChatTypes;
 import org.spongepowered.api.text.sink.MessageSink;
 import org.spongepowered.api.text.sink.MessageSinkFactory;
 import org.spongepowered.api.util.command.CommandSource;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.interfaces.IMixinServerConfigurationManager;
+import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.text.chat.SpongeChatType;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 
@@ -56,7 +62,44 @@ public class SpongeMessageSinkFactory implements MessageSinkFactory {
 
     private SpongeMessageSinkFactory() {}
 
-    private static class PermissionSink extends MessageSink {
+    /**
+     * A sink that only selects recipients and sends messages unchanged, so it
+     * can be skipped when a combined sink transforms a message.
+     */
+    private abstract static class RecipientSink extends MessageSink {
+
+        @Override
+        public void sendMessage(Text message) {
+            sendToAll(getRecipients(), message);
+        }
+    }
+
+    /**
+     * Sends the same message to all recipients. Players are grouped by locale,
+     * so the message is converted and its packet encoded once per locale
+     * instead of once per player.
+     *
+     * @param recipients The recipients
+     * @param message The message
+     */
+    static void sendToAll(Iterable<CommandSource> recipients, Text message) {
+        Map<Locale, S02PacketChat> packets = Maps.newHashMap();
+        for (CommandSource recipient : recipients) {
+            if (recipient instanceof EntityPlayerMP && ((EntityPlayerMP) recipient).playerNetServerHandler != null) {
+                Locale locale = ((Player) recipient).getLocale();
+                S02PacketChat packet = packets.get(locale);
+                if (packet == null) {
+                    packet = new S02PacketChat(SpongeTexts.toComponent(message, locale), ((SpongeChatType) ChatTypes.CHAT).getByteId());
+                    packets.put(locale, packet);
+                }
+                ((EntityPlayerMP) recipient).playerNetServerHandler.sendPacket(packet);
+            } else {
+                recipient.sendMessage(message);
+            }
+        }
+    }
+
+    private static class PermissionSink extends RecipientSink {
         private final String permission;
 
         private PermissionSink(String permission) {
@@ -66,22 +109,20 @@ private PermissionSink(String permission) {
         @Override
         public Iterable<CommandSource> getRecipients() {
             PermissionService service =  Sponge.getGame().getServiceManager().provideUnchecked(PermissionService.class);
-            return Iterables.concat(
-                    Iterables.transform(service.getKnownSubjects().values(), new Function<SubjectCollection, Iterable<CommandSource>>() {
-                @Nullable
-                @Override
-                public Iterable<CommandSource> apply(SubjectCollection input) {
-                    return Iterables.filter(Iterables.transform(Maps.filterValues(input.getAllWithPermission(PermissionSink.this.permission),
-                                    Predicates.equalTo(true)).keySet(),
-                            new Function<Subject, CommandSource>() {
-                                @Nullable
-                                @Override
-                                public CommandSource apply(@Nullable Subject input) {
-                                    return input.getCommandSource().orNull();
-                                }
-                            }), Predicates.notNull());
+            // The Sponge collections index their subjects by permission, so
+            // this only looks at subjects that have a value for it
+            ImmutableSet.Builder<CommandSource> recipients = ImmutableSet.builder();
+            for (SubjectCollection collection : service.getKnownSubjects().values()) {
+                for (Map.Entry<Subject, Boolean> entry : collection.getAllWithPermission(this.permission).entrySet()) {
+                    if (entry.getValue()) {
+                        CommandSource source = entry.getKey().getCommandSource().orNull();
+                        if (source != null) {
+                            recipients.add(source);
+                        }
+                    }
                 }
-            }));
+            }
+            return recipients.build();
         }
     }
 
@@ -91,14 +132,35 @@ public MessageSink toPermission(String permission) {
         return new PermissionSink(permission);
     }
 
-    private static class AllSink extends MessageSink {
+    private static class AllSink extends RecipientSink {
+        // The recipients for the last player snapshot, reused until a player
+        // joins or leaves
+        @Nullable private volatile AllRecipients recipients;
+
         @Override
         public Iterable<CommandSource> getRecipients() {
             // TODO: Non-player subjects?
-            @SuppressWarnings({"unchecked", "rawtypes"})
-            Set<CommandSource> ret = new HashSet(MinecraftServer.getServer().getConfigurationManager().playerEntityList);
-            ret.add((CommandSource) MinecraftServer.getServer());
-            return ret;
+            ImmutableList<Player> players = ((IMixinServerConfigurationManager) MinecraftServer.getServer().getConfigurationManager())
+                    .getPlayerSnapshot();
+            AllRecipients recipients = this.recipients;
+            if (recipients == null || recipients.players != players) {
+                recipients = new AllRecipients(players, ImmutableSet.<CommandSource>builder()
+                        .addAll(players)
+                        .add((CommandSource) MinecraftServer.getServer())
+                        .build());
+                this.recipients = recipients;
+            }
+            return recipients.recipients;
+        }
+    }
+
+    private static final class AllRecipients {
+        final ImmutableList<Player> players;
+        final ImmutableSet<CommandSource> recipients;
+
+        AllRecipients(ImmutableList<Player> players, ImmutableSet<CommandSource> recipients) {
+            this.players = players;
+            this.recipients = recipients;
         }
     }
 
@@ -109,15 +171,27 @@ public MessageSink toAll() {
 
     private static class CombinedSink extends MessageSink {
         private final Iterable<MessageSink> contents;
+        // The contents that may change messages, looked up once instead of
+        // for every recipient
+        private final List<MessageSink> transformers;
 
         private CombinedSink(Iterable<MessageSink> contents) {
             this.contents = contents;
+            ImmutableList.Builder<MessageSink> transformers = ImmutableList.builder();
+            for (MessageSink sink : contents) {
+                if (sink instanceof CombinedSink) {
+                    transformers.addAll(((CombinedSink) sink).transformers);
+                } else if (!(sink instanceof RecipientSink)) {
+                    transformers.add(sink);
+                }
+            }
+            this.transformers = transformers.build();
         }
 
         @Override
         public Text transformMessage(CommandSource target, Text text) {
             Text ret = text;
-            for (MessageSink sink : this.contents) {
+            for (MessageSink sink : this.transformers) {
                 Text xformed = sink.transformMessage(target, ret);
                 if (xformed != null) {
                     ret = xformed;
@@ -126,15 +200,22 @@ public Text transformMessage(CommandSource target, Text text) {
             return ret;
         }
 
+        @Override
+        public void sendMessage(Text message) {
+            if (this.transformers.isEmpty()) {
+                sendToAll(getRecipients(), message);
+            } else {
+                super.sendMessage(message);
+            }
+        }
+
         @Override
         public Iterable<CommandSource> getRecipients() {
-            return ImmutableSet.copyOf(Iterables.concat(Iterables.transform(this.contents, new Function<MessageSink, Iterable<CommandSource>>() {
-                @Nullable
-                @Override
-                public Iterable<CommandSource> apply(@Nullable MessageSink input) {
-                    return input.getRecipients();
-                }
-            })));
+            ImmutableSet.Builder<CommandSource> recipients = ImmutableSet.builder();
+            for (MessageSink sink : this.contents) {
+                recipients.addAll(sink.getRecipients());
+            }
+            return recipients.build();
         }
     }
 
@@ -143,7 +224,7 @@ public MessageSink combined(MessageSink... sinks) {
         return new CombinedSink(ImmutableList.copyOf(sinks));
     }
 
-    private static class FixedSink extends MessageSink {
+    private static class FixedSink extends RecipientSink {
         private final Set<CommandSource> contents;
 
         private FixedSink(Set<CommandSource> provided) {
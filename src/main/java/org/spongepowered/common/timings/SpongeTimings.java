@@ -0,0 +1,225 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.timings;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.stream.JsonWriter;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The registry of all {@link Timing}s.
+ *
+ * <p>Timings are off by default. While they are disabled, instrumented code
+ * only pays for a check of {@link #isEnabled()}, so callers must guard both
+ * the lookup of their timing and the reading of the clock with it.</p>
+ */
+public final class SpongeTimings {
+
+    public static final String GROUP_PLUGIN = "plugin";
+    public static final String GROUP_WORLD = "world";
+    public static final String GROUP_COMMAND = "command";
+
+    private static final ConcurrentMap<String, Timing> timings = Maps.newConcurrentMap();
+    private static volatile boolean enabled;
+    private static volatile long sampleStart = System.currentTimeMillis();
+
+    private SpongeTimings() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns timings on or off. Turning them on starts a new sample.
+     *
+     * @param enable Whether timings should be recorded
+     */
+    public static void setEnabled(boolean enable) {
+        if (enable && !enabled) {
+            reset();
+        }
+        enabled = enable;
+    }
+
+    /**
+     * Clears all recorded durations and starts a new sample.
+     */
+    public static void reset() {
+        for (Timing timing : timings.values()) {
+            timing.reset();
+        }
+        sampleStart = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets the timing of some work done by a plugin.
+     *
+     * @param plugin The plugin
+     * @param name The name of the work
+     * @return The timing
+     */
+    public static Timing ofPlugin(PluginContainer plugin, String name) {
+        return get(GROUP_PLUGIN, plugin.getId(), name);
+    }
+
+    /**
+     * Gets the timing of a tick phase of a world.
+     *
+     * @param worldName The world name
+     * @param name The name of the phase
+     * @return The timing
+     */
+    public static Timing ofWorld(String worldName, String name) {
+        return get(GROUP_WORLD, worldName, name);
+    }
+
+    /**
+     * Gets the timing of a command.
+     *
+     * @param alias The alias the command was run with
+     * @return The timing
+     */
+    public static Timing ofCommand(String alias) {
+        return get(GROUP_COMMAND, alias, "Command: " + alias);
+    }
+
+    private static Timing get(String group, String owner, String name) {
+        String key = group + '\0' + owner + '\0' + name;
+        Timing timing = timings.get(key);
+        if (timing == null) {
+            Timing newTiming = new Timing(group, owner, name);
+            timing = timings.putIfAbsent(key, newTiming);
+            if (timing == null) {
+                timing = newTiming;
+            }
+        }
+        return timing;
+    }
+
+    /**
+     * Writes every timing recorded in the current sample to a JSON report,
+     * grouped by group and owner with the slowest work first.
+     *
+     * @param file The file to write to
+     * @throws IOException If the file could not be written
+     */
+    public static void writeReport(File file) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+
+        List<Timing> sorted = Lists.newArrayList();
+        for (Timing timing : timings.values()) {
+            if (timing.getCount() > 0) {
+                sorted.add(timing);
+            }
+        }
+        Collections.sort(sorted, new Comparator<Timing>() {
+
+            @Override
+            public int compare(Timing o1, Timing o2) {
+                int result = o1.getGroup().compareTo(o2.getGroup());
+                if (result == 0) {
+                    result = o1.getOwner().compareTo(o2.getOwner());
+                }
+                if (result != 0) {
+                    return result;
+                }
+                // Most expensive first
+                long total1 = o1.getTotalNanos();
+                long total2 = o2.getTotalNanos();
+                return total1 > total2 ? -1 : total1 < total2 ? 1 : 0;
+            }
+        });
+
+        JsonWriter writer = new JsonWriter(new FileWriter(file));
+        try {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("sampleMillis").value(System.currentTimeMillis() - sampleStart);
+            writer.name("histogramBucketMicros").beginArray();
+            for (int i = 0; i < Timing.BUCKETS - 1; i++) {
+                writer.value(2L << i);
+            }
+            writer.endArray();
+
+            writer.name("timings").beginObject();
+            String group = null;
+            String owner = null;
+            for (Timing timing : sorted) {
+                if (!timing.getGroup().equals(group)) {
+                    if (group != null) {
+                        writer.endArray().endObject();
+                    }
+                    group = timing.getGroup();
+                    owner = null;
+                    writer.name(group).beginObject();
+                }
+                if (!timing.getOwner().equals(owner)) {
+                    if (owner != null) {
+                        writer.endArray();
+                    }
+                    owner = timing.getOwner();
+                    writer.name(owner).beginArray();
+                }
+                writeTiming(writer, timing);
+            }
+            if (group != null) {
+                writer.endArray().endObject();
+            }
+            writer.endObject();
+            writer.endObject();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void writeTiming(JsonWriter writer, Timing timing) throws IOException {
+        long count = timing.getCount();
+        writer.beginObject();
+        writer.name("name").value(timing.getName());
+        writer.name("count").value(count);
+        writer.name("totalMillis").value(timing.getTotalNanos() / 1e6);
+        writer.name("averageMillis").value(timing.getTotalNanos() / 1e6 / count);
+        writer.name("maxMillis").value(timing.getMaxNanos() / 1e6);
+        writer.name("histogram").beginArray();
+        for (int i = 0; i < Timing.BUCKETS; i++) {
+            writer.value(timing.getBucket(i));
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.timings;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe timer accumulating the durations of one instrumented piece
+ * of work, such as an event handler or a world tick phase.
+ *
+ * <p>Durations are counted in a histogram of power of two microsecond
+ * buckets, bucket {@code i} holding durations below {@code 2^(i+1)}
+ * microseconds and the last bucket holding everything longer.</p>
+ */
+public final class Timing {
+
+    static final int BUCKETS = 22;
+
+    private final String group;
+    private final String owner;
+    private final String name;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    Timing(String group, String owner, String name) {
+        this.group = group;
+        this.owner = owner;
+        this.name = name;
+    }
+
+    /**
+     * Gets the group of this timing, such as plugin, world or command.
+     *
+     * @return The group
+     */
+    public String getGroup() {
+        return this.group;
+    }
+
+    /**
+     * Gets the owner of this timing within its group, such as a plugin id or
+     * world name.
+     *
+     * @return The owner
+     */
+    public String getOwner() {
+        return this.owner;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Records a duration measured with {@link System#nanoTime()}.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        this.count.incrementAndGet();
+        this.totalNanos.addAndGet(nanos);
+        long max;
+        while (nanos > (max = this.maxNanos.get()) && !this.maxNanos.compareAndSet(max, nanos)) {
+            // Retry until the max is at least this duration
+        }
+        long micros = nanos / 1000;
+        int bucket = micros < 2 ? 0 : 63 - Long.numberOfLeadingZeros(micros);
+        this.histogram.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+    }
+
+    /**
+     * Records the time passed since the given {@link System#nanoTime()}.
+     *
+     * @param startNanos The start time in nanoseconds
+     */
+    public void stop(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return this.count.get();
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    long getBucket(int bucket) {
+        return this.histogram.get(bucket);
+    }
+
+    void reset() {
+        this.count.set(0);
+        this.totalNanos.set(0);
+        this.maxNanos.set(0);
+        for (int i = 0; i < BUCKETS; i++) {
+            this.histogram.set(i, 0);
+        }
+    }
+
+}
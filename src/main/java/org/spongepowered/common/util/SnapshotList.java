@@ -0,0 +1,119 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list that replaces its contents with a new immutable list on every
+ * change, so {@link #snapshot()} can hand out the current contents without
+ * copying them.
+ *
+ * <p>Changes are expected to be rare compared to reads, like players joining
+ * and leaving compared to broadcasts to all players.</p>
+ *
+ * @param <E> The type of the elements
+ */
+public class SnapshotList<E> extends AbstractList<E> implements RandomAccess {
+
+    private volatile ImmutableList<E> elements;
+
+    public SnapshotList() {
+        this.elements = ImmutableList.of();
+    }
+
+    public SnapshotList(Collection<? extends E> elements) {
+        this.elements = ImmutableList.copyOf(elements);
+    }
+
+    /**
+     * Gets the current contents of this list. The returned list is not
+     * affected by later changes.
+     *
+     * @return The current contents
+     */
+    public ImmutableList<E> snapshot() {
+        return this.elements;
+    }
+
+    @Override
+    public E get(int index) {
+        return this.elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return this.elements.size();
+    }
+
+    @Override
+    public synchronized void add(int index, E element) {
+        ImmutableList<E> elements = this.elements;
+        if (index < 0 || index > elements.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.size());
+        }
+        this.elements = ImmutableList.<E>builder()
+                .addAll(elements.subList(0, index))
+                .add(element)
+                .addAll(elements.subList(index, elements.size()))
+                .build();
+        this.modCount++;
+    }
+
+    @Override
+    public synchronized E set(int index, E element) {
+        ImmutableList<E> elements = this.elements;
+        E previous = elements.get(index);
+        this.elements = ImmutableList.<E>builder()
+                .addAll(elements.subList(0, index))
+                .add(element)
+                .addAll(elements.subList(index + 1, elements.size()))
+                .build();
+        return previous;
+    }
+
+    @Override
+    public synchronized E remove(int index) {
+        ImmutableList<E> elements = this.elements;
+        E previous = elements.get(index);
+        this.elements = ImmutableList.<E>builder()
+                .addAll(elements.subList(0, index))
+                .addAll(elements.subList(index + 1, elements.size()))
+                .build();
+        this.modCount++;
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.elements = ImmutableList.of();
+        this.modCount++;
+    }
+
+}
@@ -41,6 +41,7 @@
 import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.EffectiveConfig;
 import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.interfaces.IMixinWorld;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
@@ -80,44 +81,52 @@ public static void logStack(SpongeConfig<?> config) {
         }
     }
 
+    public static void logStack(EffectiveConfig config) {
+        if (config.logWithStackTraces) {
+            Throwable ex = new Throwable();
+            ex.fillInStackTrace();
+            ex.printStackTrace();
+        }
+    }
+
     public static void logEntityDeath(Entity entity) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDeathLogging()) {
-            logInfo("[" + config.getConfigName() + "] [" + config.getConfigName() + "] Dim: {0} setDead(): {1}",
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        if (config.logEntityDeath) {
+            logInfo("[" + config.configName + "] [" + config.configName + "] Dim: {0} setDead(): {1}",
                     entity.worldObj.provider.getDimensionId(), entity);
             logStack(config);
         }
     }
 
     public static void logEntityDespawn(Entity entity, String reason) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDespawnLogging()) {
-            logInfo("[" + config.getConfigName() + "] Dim: {0} Despawning ({1}): {2}", entity.worldObj.provider.getDimensionId(), reason, entity);
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        if (config.logEntityDespawn) {
+            logInfo("[" + config.configName + "] Dim: {0} Despawning ({1}): {2}", entity.worldObj.provider.getDimensionId(), reason, entity);
             logStack(config);
         }
     }
 
     public static void logEntitySpawn(Entity entity) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entitySpawnLogging()) {
-            logInfo("[" + config.getConfigName() + "] Dim: {0} Spawning: {1}", entity.worldObj.provider.getDimensionId(), entity);
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        if (config.logEntitySpawn) {
+            logInfo("[" + config.configName + "] Dim: {0} Spawning: {1}", entity.worldObj.provider.getDimensionId(), entity);
             logStack(config);
         }
     }
 
     public static void logChunkLoad(World world, Vector3i chunkPos) {
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkLoadLogging()) {
-            logInfo("[" + config.getConfigName() + "] Load Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
+        EffectiveConfig config = getEffectiveConfig(world);
+        if (config.logChunkLoad) {
+            logInfo("[" + config.configName + "] Load Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
         }
     }
 
     public static void logChunkUnload(World world, Vector3i chunkPos) {
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkUnloadLogging()) {
-            logInfo("[" + config.getConfigName() + "] Unload Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
+        EffectiveConfig config = getEffectiveConfig(world);
+        if (config.logChunkUnload) {
+            logInfo("[" + config.configName + "] Unload Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
         }
@@ -131,12 +140,12 @@ private static void logChunkLoadOverride(ChunkProviderServer provider, int x, in
     }
 
     public static boolean checkBoundingBoxSize(Entity entity, AxisAlignedBB aabb) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
         if (!(entity instanceof EntityLivingBase) || entity instanceof EntityPlayer) {
             return false; // only check living entities that are not players
         }
 
-        int maxBoundingBoxSize = config.getConfig().getEntity().getMaxBoundingBoxSize();
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        int maxBoundingBoxSize = config.maxBoundingBoxSize;
         if (maxBoundingBoxSize <= 0) {
             return false;
         }
@@ -166,28 +175,28 @@ public static boolean checkBoundingBoxSize(Entity entity, AxisAlignedBB aabb) {
     }
 
     public static boolean checkEntitySpeed(Entity entity, double x, double y, double z) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        int maxSpeed = config.getConfig().getEntity().getMaxSpeed();
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        int maxSpeed = config.maxSpeed;
         if (maxSpeed > 0) {
             double distance = x * x + z * z;
             if (distance > maxSpeed) {
-                if (config.getConfig().getLogging().logEntitySpeedRemoval()) {
-                    logInfo("[" + config.getConfigName() + "] Speed violation: {0} was over {1} - Removing Entity: {2}", distance, maxSpeed, entity);
+                if (config.logEntitySpeedRemoval) {
+                    logInfo("[" + config.configName + "] Speed violation: {0} was over {1} - Removing Entity: {2}", distance, maxSpeed, entity);
                     if (entity instanceof EntityLivingBase) {
                         EntityLivingBase livingBase = (EntityLivingBase) entity;
-                        logInfo("[" + config.getConfigName() + "] Entity Motion: ({0}, {1}, {2}) Move Strafing: {3} Move Forward: {4}",
+                        logInfo("[" + config.configName + "] Entity Motion: ({0}, {1}, {2}) Move Strafing: {3} Move Forward: {4}",
                                 entity.motionX, entity.motionY,
                                 entity.motionZ,
                                 livingBase.moveStrafing, livingBase.moveForward);
                     }
 
-                    if (config.getConfig().getLogging().logWithStackTraces()) {
-                        logInfo("[" + config.getConfigName() + "] Move offset: ({0}, {1}, {2})", x, y, z);
-                        logInfo("[" + config.getConfigName() + "] Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
-                        logInfo("[" + config.getConfigName() + "] Entity: {0}", entity);
+                    if (config.logWithStackTraces) {
+                        logInfo("[" + config.configName + "] Move offset: ({0}, {1}, {2})", x, y, z);
+                        logInfo("[" + config.configName + "] Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
+                        logInfo("[" + config.configName + "] Entity: {0}", entity);
                         NBTTagCompound tag = new NBTTagCompound();
                         entity.writeToNBT(tag);
-                        logInfo("[" + config.getConfigName() + "] Entity NBT: {0}", tag);
+                        logInfo("[" + config.configName + "] Entity NBT: {0}", tag);
                         logStack(config);
                     }
                 }
@@ -208,11 +217,11 @@ public static boolean checkEntitySpeed(Entity entity, double x, double y, double
     // TODO - needs to be hooked
     @SuppressWarnings("rawtypes")
     public static void logEntitySize(Entity entity, List list) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (!config.getConfig().getLogging().logEntityCollisionChecks()) {
+        EffectiveConfig config = getEffectiveConfig(entity.worldObj);
+        if (!config.logEntityCollisionChecks) {
             return;
         }
-        int collisionWarnSize = config.getConfig().getEntity().getMaxCollisionSize();
+        int collisionWarnSize = config.maxCollisionSize;
 
         if (list == null) {
             return;
@@ -283,6 +292,17 @@ public static void enableThreadContentionMonitoring() {
         mbean.setThreadContentionMonitoringEnabled(true);
     }
 
+    /**
+     * Gets the snapshot of the settings active for the world, for hooks which
+     * run too often to resolve the active config each time.
+     *
+     * @param world The world
+     * @return The effective config
+     */
+    public static EffectiveConfig getEffectiveConfig(World world) {
+        return ((IMixinWorld) world).getEffectiveConfig();
+    }
+
     public static SpongeConfig<?> getActiveConfig(World world) {
         SpongeConfig<?> config = ((IMixinWorld) world).getWorldConfig();
         if (config.getConfig().isConfigEnabled()) {
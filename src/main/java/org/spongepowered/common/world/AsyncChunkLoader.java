@@ -0,0 +1,253 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureFallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import org.spongepowered.api.world.Chunk;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.common.interfaces.IMixinAnvilChunkLoader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * Loads chunks without blocking the server thread on region file reads.
+ *
+ * <p>The saved data of a chunk is read and decoded on an I/O thread, only
+ * creating the chunk and adding it to the world happens on the server
+ * thread.</p>
+ */
+public final class AsyncChunkLoader {
+
+    /**
+     * The radius in blocks around the spawn point that is loaded when a world
+     * keeps its spawn loaded.
+     */
+    public static final int SPAWN_RADIUS = 192;
+
+    private static final int IO_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // The most chunks of a spawn area being loaded in the background that are
+    // added to the world per tick, generating a chunk can take milliseconds
+    private static final int SPAWN_CHUNKS_PER_TICK = 8;
+
+    @Nullable private static ListeningExecutorService ioExecutor;
+    // Only used on the server thread
+    private static final Map<WorldServer, Queue<PendingChunk>> pendingSpawnChunks = new WeakHashMap<WorldServer, Queue<PendingChunk>>();
+
+    private AsyncChunkLoader() {
+    }
+
+    private static synchronized ListeningExecutorService getIoExecutor() {
+        if (ioExecutor == null) {
+            ioExecutor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(IO_THREADS, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge Chunk I/O #%d")
+                    .setDaemon(true)
+                    .build()));
+        }
+        return ioExecutor;
+    }
+
+    /**
+     * Reads the saved data of a chunk on an I/O thread, so that loading it on
+     * the server thread afterwards doesn't touch the region file.
+     *
+     * @param world The world of the chunk
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return A future completing with whether the chunk may exist in the save
+     */
+    public static ListenableFuture<Boolean> readChunkAhead(WorldServer world, final int chunkX, final int chunkZ) {
+        final IChunkLoader chunkLoader = world.theChunkProviderServer.chunkLoader;
+        if (!(chunkLoader instanceof IMixinAnvilChunkLoader) || world.theChunkProviderServer.chunkExists(chunkX, chunkZ)) {
+            return Futures.immediateFuture(true);
+        }
+        return getIoExecutor().submit(new Callable<Boolean>() {
+
+            @Override
+            public Boolean call() throws Exception {
+                return ((IMixinAnvilChunkLoader) chunkLoader).readChunkAhead(chunkX, chunkZ);
+            }
+        });
+    }
+
+    /**
+     * Loads a chunk, reading it on an I/O thread and adding it to the world on
+     * the server thread.
+     *
+     * <p>Don't wait for the returned future on the server thread, it is
+     * completed by the server thread.</p>
+     *
+     * @param world The world of the chunk
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param shouldGenerate Whether to generate the chunk if it doesn't exist
+     * @return A future completing with the chunk, if it was loaded
+     */
+    public static ListenableFuture<Optional<Chunk>> loadChunk(final WorldServer world, final int chunkX, final int chunkZ,
+            final boolean shouldGenerate) {
+        ListenableFuture<Boolean> readFuture = readChunkAhead(world, chunkX, chunkZ);
+        return Futures.transform(Futures.withFallback(readFuture, new FutureFallback<Boolean>() {
+
+            @Override
+            public ListenableFuture<Boolean> create(Throwable t) throws Exception {
+                // Let the regular load report the broken chunk
+                return Futures.immediateFuture(true);
+            }
+        }), new AsyncFunction<Boolean, Optional<Chunk>>() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public ListenableFuture<Optional<Chunk>> apply(final Boolean exists) throws Exception {
+                return world.getMinecraftServer().callFromMainThread(new Callable<Optional<Chunk>>() {
+
+                    @Override
+                    public Optional<Chunk> call() throws Exception {
+                        if (!exists && !shouldGenerate && !world.theChunkProviderServer.chunkExists(chunkX, chunkZ)) {
+                            return Optional.absent();
+                        }
+                        return Optional.fromNullable((Chunk) world.theChunkProviderServer.loadChunk(chunkX, chunkZ));
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Reads the saved data of all chunks of the spawn area of a world ahead.
+     * The futures are ordered by x, then z, like the spawn area is loaded.
+     *
+     * @param world The world
+     * @return The futures of the reads
+     */
+    public static List<ListenableFuture<Boolean>> readSpawnAreaAhead(WorldServer world) {
+        List<ListenableFuture<Boolean>> futures = Lists.newArrayList();
+        BlockPos spawn = world.getSpawnPoint();
+        for (int x = -SPAWN_RADIUS; x <= SPAWN_RADIUS; x += 16) {
+            for (int z = -SPAWN_RADIUS; z <= SPAWN_RADIUS; z += 16) {
+                futures.add(readChunkAhead(world, spawn.getX() + x >> 4, spawn.getZ() + z >> 4));
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * Loads the spawn area of a world in the background. The chunks are read
+     * on I/O threads and added to the world a few per tick by
+     * {@link #tickSpawnArea}, so that generating a new spawn area doesn't
+     * hold up a single tick. Only call on the server thread.
+     *
+     * @param world The world
+     */
+    public static void loadSpawnArea(WorldServer world) {
+        Queue<PendingChunk> queue = Queues.newArrayDeque();
+        BlockPos spawn = world.getSpawnPoint();
+        for (int x = -SPAWN_RADIUS; x <= SPAWN_RADIUS; x += 16) {
+            for (int z = -SPAWN_RADIUS; z <= SPAWN_RADIUS; z += 16) {
+                int chunkX = spawn.getX() + x >> 4;
+                int chunkZ = spawn.getZ() + z >> 4;
+                queue.add(new PendingChunk(chunkX, chunkZ, readChunkAhead(world, chunkX, chunkZ)));
+            }
+        }
+        pendingSpawnChunks.put(world, queue);
+    }
+
+    /**
+     * Adds up to {@link #SPAWN_CHUNKS_PER_TICK} chunks of a spawn area being
+     * loaded to the world, called at the start of each world tick.
+     *
+     * @param world The world
+     */
+    public static void tickSpawnArea(WorldServer world) {
+        if (pendingSpawnChunks.isEmpty()) {
+            return;
+        }
+        Queue<PendingChunk> queue = pendingSpawnChunks.get(world);
+        if (queue == null) {
+            return;
+        }
+        for (int i = 0; i < SPAWN_CHUNKS_PER_TICK && !queue.isEmpty(); i++) {
+            PendingChunk chunk = queue.peek();
+            if (!chunk.read.isDone()) {
+                // Wait for the read instead of reading on the server thread
+                break;
+            }
+            queue.poll();
+            world.theChunkProviderServer.loadChunk(chunk.chunkX, chunk.chunkZ);
+        }
+        if (queue.isEmpty()) {
+            pendingSpawnChunks.remove(world);
+        }
+    }
+
+    /**
+     * Waits for a read started by {@link #readChunkAhead}. Failed reads are
+     * ignored, the regular chunk load reports them.
+     *
+     * @param future The future of the read
+     */
+    public static void awaitRead(ListenableFuture<Boolean> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Sponge.getLogger().debug("Failed to read chunk ahead", e.getCause());
+        }
+    }
+
+    private static final class PendingChunk {
+
+        final int chunkX;
+        final int chunkZ;
+        final ListenableFuture<Boolean> read;
+
+        PendingChunk(int chunkX, int chunkZ, ListenableFuture<Boolean> read) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.read = read;
+        }
+    }
+
+}
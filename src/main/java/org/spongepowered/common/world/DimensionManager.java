@@ -49,6 +49,7 @@
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
+import org.spongepowered.common.service.tick.SpongeTickMetrics;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -207,10 +208,12 @@ public static void setWorld(int id, WorldServer world) {
             worlds.put(id, world);
             weakWorldMap.put(world, world);
             ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().put(id, new long[100]);
+            SpongeTickMetrics.getInstance().addWorld(id, world);
             Sponge.getLogger().info("Loading dimension {} ({}) ({})", id, world.getWorldInfo().getWorldName(), world.getMinecraftServer());
         } else {
             worlds.remove(id);
             ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().remove(id);
+            SpongeTickMetrics.getInstance().removeWorld(id);
             Sponge.getLogger().info("Unloading dimension {}", id);
         }
 
@@ -305,6 +308,10 @@ public static void initDimension(int dim) {
         }
 
         mcServer.setDifficultyForAllWorlds(mcServer.getDifficulty());
+        if (((org.spongepowered.api.world.World) world).getProperties().doesKeepSpawnLoaded()) {
+            // Don't hold up the tick that hotloads the dimension
+            AsyncChunkLoader.loadSpawnArea(world);
+        }
     }
 
     public static int getClientDimensionToSend(int dim, WorldServer worldserver, EntityPlayerMP playerIn) {
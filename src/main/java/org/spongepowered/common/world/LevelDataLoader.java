@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.world.storage.ISaveHandler;
+import net.minecraft.world.storage.WorldInfo;
+import org.spongepowered.common.Sponge;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads the level data of the worlds loaded during startup, concurrently
+ * unless disabled in the global config.
+ *
+ * <p>Only reading the level files happens concurrently. Creating the worlds
+ * touches shared registries and stays on the server thread.</p>
+ */
+public final class LevelDataLoader {
+
+    private final ListeningExecutorService executor;
+    private final Map<Integer, ListenableFuture<WorldInfo>> reads = Maps.newHashMap();
+    private final ConcurrentMap<Integer, Long> readMillis = Maps.newConcurrentMap();
+
+    public LevelDataLoader(int worldCount) {
+        int threads = Math.min(worldCount, Runtime.getRuntime().availableProcessors());
+        if (threads > 1 && Sponge.getGlobalConfig().getConfig().getGeneral().isParallelWorldStartup()) {
+            this.executor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge World Loader #%d")
+                    .setDaemon(true)
+                    .build()));
+        } else {
+            this.executor = MoreExecutors.sameThreadExecutor();
+        }
+    }
+
+    /**
+     * Starts reading the level data of a world.
+     *
+     * @param dim The dimension id of the world
+     * @param saveHandler The save handler of the world
+     */
+    public void read(final int dim, final ISaveHandler saveHandler) {
+        this.reads.put(dim, this.executor.submit(new Callable<WorldInfo>() {
+
+            @Override
+            public WorldInfo call() throws Exception {
+                long start = System.nanoTime();
+                try {
+                    return saveHandler.loadWorldInfo();
+                } finally {
+                    LevelDataLoader.this.readMillis.put(dim, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            }
+        }));
+    }
+
+    /**
+     * Waits for the level data of a world.
+     *
+     * @param dim The dimension id of the world
+     * @return The level data, or null if the world has none yet
+     */
+    @Nullable
+    public WorldInfo get(int dim) {
+        return Futures.getUnchecked(this.reads.get(dim));
+    }
+
+    /**
+     * Gets how long reading the level data of a world took.
+     *
+     * @param dim The dimension id of the world
+     * @return The time in milliseconds
+     */
+    public long getReadMillis(int dim) {
+        Long millis = this.readMillis.get(dim);
+        return millis == null ? 0 : millis;
+    }
+
+    /**
+     * Stops the reader threads once all reads are done.
+     */
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+}
@@ -27,40 +27,73 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.vector.Vector2i;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.BlockFalling;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.IProgressUpdate;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraft.world.biome.BiomeGenBase.SpawnListEntry;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.gen.ChunkProviderGenerate;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.api.world.extent.ImmutableBiomeArea;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.gen.BiomeGenerator;
 import org.spongepowered.api.world.gen.GeneratorPopulator;
+import org.spongepowered.common.interfaces.IMixinAnvilChunkLoader;
+import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.util.gen.ByteArrayImmutableBiomeBuffer;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
 import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 /**
  * Similar class to {@link ChunkProviderGenerate}, but instead gets its blocks
  * from a custom chunk generator.
+ *
+ * <p>When parallel generation is enabled in the world config and the world
+ * uses a {@link CustomWorldChunkManager}, the biome and block stages of chunks
+ * around a freshly generated chunk are prefetched on worker threads. Only
+ * assembling the {@link Chunk} happens on the server thread. Vanilla biome
+ * layers share static caches and can only run on the server thread, so chunks
+ * of worlds using them are not prefetched.</p>
  */
 public final class CustomChunkProviderGenerate implements IChunkProvider {
 
     private static final Vector2i CHUNK_AREA = new Vector2i(16, 16);
+    private static final int MAX_PREFETCHED_CHUNKS = 512;
+    private static final long PREFETCH_EXPIRE_SECONDS = 60;
+    private static final int PREFETCH_RADIUS = 1;
+
+    @Nullable private static ExecutorService generationExecutor;
 
     private final BiomeGenerator biomeGenerator;
     private final GeneratorPopulator baseGenerator;
     private final List<GeneratorPopulator> generatorPopulators;
     private final World world;
-    private final ByteArrayMutableBiomeBuffer cachedBiomes;
+    @Nullable private final Cache<Long, Future<GeneratedChunk>> prefetchedChunks;
 
     /**
      * Gets the chunk generator from the given generator populator and biome
@@ -91,9 +124,46 @@ private CustomChunkProviderGenerate(World world, BiomeGenerator biomeGenerator,
         this.biomeGenerator = checkNotNull(biomeGenerator, "biomeGenerator");
         this.generatorPopulators = checkNotNull(generatorPopulators, "generatorPopulators");
 
-        // Make initially empty biome cache
-        this.cachedBiomes = new ByteArrayMutableBiomeBuffer(Vector2i.ZERO, CHUNK_AREA);
-        this.cachedBiomes.detach();
+        if (SpongeHooks.getActiveConfig(world).getConfig().getWorld().isParallelGeneration()) {
+            this.prefetchedChunks = CacheBuilder.newBuilder()
+                    .maximumSize(MAX_PREFETCHED_CHUNKS)
+                    .expireAfterWrite(PREFETCH_EXPIRE_SECONDS, TimeUnit.SECONDS)
+                    .removalListener(new RemovalListener<Long, Future<GeneratedChunk>>() {
+
+                        @Override
+                        public void onRemoval(RemovalNotification<Long, Future<GeneratedChunk>> notification) {
+                            if (notification.wasEvicted()) {
+                                // Nobody asked for the chunk in time
+                                notification.getValue().cancel(false);
+                            }
+                        }
+                    })
+                    .build();
+        } else {
+            this.prefetchedChunks = null;
+        }
+    }
+
+    /**
+     * Stops the worker threads generating prefetched chunks, they are started
+     * again when the next chunk is prefetched.
+     */
+    public static synchronized void shutdownGenerationExecutor() {
+        if (generationExecutor != null) {
+            generationExecutor.shutdownNow();
+            generationExecutor = null;
+        }
+    }
+
+    private static synchronized ExecutorService getGenerationExecutor() {
+        if (generationExecutor == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            generationExecutor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge Chunk Generator #%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return generationExecutor;
     }
 
     public GeneratorPopulator getBaseGenerator() {
@@ -138,31 +208,130 @@ public void recreateStructures(Chunk chunk, int chunkX, int chunkZ) {
 
     @Override
     public Chunk provideChunk(int chunkX, int chunkZ) {
-
-        // Generate biomes
-        this.cachedBiomes.reuse(new Vector2i(chunkX << 4, chunkZ << 4));
-        this.biomeGenerator.generateBiomes(this.cachedBiomes);
-
-        // Generate base terrain
-        ChunkPrimer chunkprimer = new ChunkPrimer();
-        MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
-        ImmutableBiomeArea biomeBuffer = this.cachedBiomes.getImmutableClone();
-        this.baseGenerator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
-
-        // Apply the generator populators to complete the blockBuffer
-        for (GeneratorPopulator populator : this.generatorPopulators) {
-            populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
+        GeneratedChunk generated = null;
+        if (this.prefetchedChunks != null && this.world.getWorldChunkManager() instanceof CustomWorldChunkManager) {
+            long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+            Future<GeneratedChunk> future = this.prefetchedChunks.getIfPresent(key);
+            this.prefetchedChunks.invalidate(key);
+
+            // Chunks around a freshly generated chunk are most likely not
+            // generated yet either, so start on them while we wait
+            prefetchAround(chunkX, chunkZ);
+
+            if (future != null && !future.isCancelled()) {
+                generated = getGenerated(future);
+            }
+        }
+        if (generated == null) {
+            generated = new GeneratedChunk(chunkX, chunkZ);
+            generated.generate();
         }
 
         // Assemble chunk
-        Chunk chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
+        Chunk chunk = new Chunk(this.world, generated.chunkPrimer, chunkX, chunkZ);
         byte[] biomeArray = chunk.getBiomeArray();
-        System.arraycopy(this.cachedBiomes.detach(), 0, biomeArray, 0, biomeArray.length);
+        System.arraycopy(generated.biomes, 0, biomeArray, 0, biomeArray.length);
         chunk.generateSkylightMap();
 
         return chunk;
     }
 
+    @Nullable
+    private static GeneratedChunk getGenerated(Future<GeneratedChunk> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // Generate it on this thread instead
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            // Rethrow what the generator threw, as if it ran on this thread
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    private void prefetchAround(int chunkX, int chunkZ) {
+        for (int x = chunkX - PREFETCH_RADIUS; x <= chunkX + PREFETCH_RADIUS; x++) {
+            for (int z = chunkZ - PREFETCH_RADIUS; z <= chunkZ + PREFETCH_RADIUS; z++) {
+                if (x == chunkX && z == chunkZ) {
+                    continue;
+                }
+                long key = ChunkCoordIntPair.chunkXZ2Int(x, z);
+                if (this.prefetchedChunks.getIfPresent(key) != null || isLoadedOrSaved(x, z)) {
+                    continue;
+                }
+                this.prefetchedChunks.put(key, getGenerationExecutor().submit(new GeneratedChunk(x, z)));
+            }
+        }
+    }
+
+    private boolean isLoadedOrSaved(int chunkX, int chunkZ) {
+        if (this.world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+            return true;
+        }
+        // Saved chunks are loaded rather than generated
+        if (this.world.getChunkProvider() instanceof ChunkProviderServer) {
+            IChunkLoader chunkLoader = ((ChunkProviderServer) this.world.getChunkProvider()).chunkLoader;
+            return chunkLoader instanceof IMixinAnvilChunkLoader && ((IMixinAnvilChunkLoader) chunkLoader).isChunkSaved(chunkX, chunkZ);
+        }
+        return false;
+    }
+
+    /**
+     * Gets the biomes of a chunk on the current thread. Only thread safe if
+     * the world uses a {@link CustomWorldChunkManager}.
+     */
+    private byte[] getBiomes(int chunkX, int chunkZ) {
+        if (this.world.getWorldChunkManager() instanceof CustomWorldChunkManager) {
+            // Shares the biomes generated for biome lookups
+            return ((CustomWorldChunkManager) this.world.getWorldChunkManager()).getChunkBiomes(chunkX, chunkZ);
+        }
+        ByteArrayMutableBiomeBuffer biomeBuffer = new ByteArrayMutableBiomeBuffer(new Vector2i(chunkX << 4, chunkZ << 4), CHUNK_AREA);
+        this.biomeGenerator.generateBiomes(biomeBuffer);
+        return biomeBuffer.detach();
+    }
+
+    /**
+     * The thread confined part of generating a chunk: the biomes and the
+     * blocks placed by the generator populators.
+     */
+    private final class GeneratedChunk implements Callable<GeneratedChunk> {
+
+        private final int chunkX;
+        private final int chunkZ;
+        private final ChunkPrimer chunkPrimer = new ChunkPrimer();
+        // The world's list may change while a worker is generating
+        private final List<GeneratorPopulator> populators = ImmutableList.copyOf(CustomChunkProviderGenerate.this.generatorPopulators);
+        @Nullable private byte[] biomes;
+
+        GeneratedChunk(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        void generate() {
+            this.biomes = getBiomes(this.chunkX, this.chunkZ);
+
+            // Generate base terrain
+            MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(this.chunkPrimer, this.chunkX, this.chunkZ);
+            ImmutableBiomeArea biomeBuffer = new ByteArrayImmutableBiomeBuffer(this.biomes, new Vector2i(this.chunkX << 4, this.chunkZ << 4),
+                    CHUNK_AREA);
+            CustomChunkProviderGenerate.this.baseGenerator.populate((org.spongepowered.api.world.World) CustomChunkProviderGenerate.this.world,
+                    blockBuffer, biomeBuffer);
+
+            // Apply the generator populators to complete the blockBuffer
+            for (GeneratorPopulator populator : this.populators) {
+                populator.populate((org.spongepowered.api.world.World) CustomChunkProviderGenerate.this.world, blockBuffer, biomeBuffer);
+            }
+        }
+
+        @Override
+        public GeneratedChunk call() throws Exception {
+            generate();
+            return this;
+        }
+    }
+
     // Methods below are simply mirrors of the methods in ChunkProviderGenerate
 
     @Override
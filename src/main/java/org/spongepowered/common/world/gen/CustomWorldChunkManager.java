@@ -27,18 +27,22 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.vector.Vector2i;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import net.minecraft.util.BlockPos;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraft.world.biome.WorldChunkManager;
-import net.minecraft.world.gen.layer.IntCache;
-import org.spongepowered.api.world.extent.MutableBiomeArea;
 import org.spongepowered.api.world.gen.BiomeGenerator;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
-import org.spongepowered.common.util.gen.ObjectArrayMutableBiomeBuffer;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of {@link WorldChunkManager} (bad name for the class that is
@@ -47,13 +51,20 @@
  * <p>This class does the opposite of {@link SpongeBiomeGenerator}, that class
  * wraps a world chunk manager so that it is usable as a {@link BiomeGenerator}
  * .</p>
+ *
+ * <p>The biome generator is only ever called for chunk sized regions, which
+ * are cached so that chunk generation, mob spawning and biome lookups of the
+ * same area don't generate the biomes again.</p>
  */
 public final class CustomWorldChunkManager extends WorldChunkManager {
 
-    private static final Vector2i CACHED_AREA_SIZE = new Vector2i(40, 40);
+    private static final Vector2i REGION_SIZE = new Vector2i(16, 16);
+    // About one megabyte of biome ids
+    private static final int MAX_CACHED_REGIONS = 4096;
+    private static final long CACHE_EXPIRE_SECONDS = 30;
 
-    private final ByteArrayMutableBiomeBuffer areaForGeneration = new ByteArrayMutableBiomeBuffer(Vector2i.ZERO, CACHED_AREA_SIZE);
     private final BiomeGenerator biomeGenerator;
+    private final LoadingCache<Long, byte[]> biomeCache;
 
     /**
      * Gets a world chunk manager based on the given biome generator.
@@ -77,12 +88,112 @@ private CustomWorldChunkManager(BiomeGenerator biomeGenerator) {
             throw new AssertionError(getClass() + " can only wrap custom biome generators, "
                 + SpongeBiomeGenerator.class + " is not a custom biome generator");
         }
+
+        this.biomeCache = CacheBuilder.newBuilder()
+                .maximumSize(MAX_CACHED_REGIONS)
+                .expireAfterAccess(CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS)
+                .recordStats()
+                .build(new CacheLoader<Long, byte[]>() {
+
+                    @Override
+                    public byte[] load(Long key) throws Exception {
+                        return generateRegion((int) (key & 0xFFFFFFFFL), (int) (key >>> 32));
+                    }
+                });
     }
 
     public BiomeGenerator getBiomeGenerator() {
         return this.biomeGenerator;
     }
 
+    /**
+     * Gets the hit and miss counts of the biome cache.
+     *
+     * @return The cache statistics
+     */
+    public CacheStats getBiomeCacheStats() {
+        return this.biomeCache.stats();
+    }
+
+    /**
+     * Gets the number of chunk sized regions currently cached.
+     *
+     * @return The number of cached regions
+     */
+    public long getBiomeCacheSize() {
+        return this.biomeCache.size();
+    }
+
+    private byte[] generateRegion(int chunkX, int chunkZ) {
+        ByteArrayMutableBiomeBuffer buffer = new ByteArrayMutableBiomeBuffer(new Vector2i(chunkX << 4, chunkZ << 4), REGION_SIZE);
+        this.biomeGenerator.generateBiomes(buffer);
+        return buffer.detach();
+    }
+
+    private byte[] getRegion(int chunkX, int chunkZ) {
+        try {
+            return this.biomeCache.getUnchecked(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        } catch (UncheckedExecutionException e) {
+            // Rethrow what the biome generator threw
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Gets the biome ids of a chunk, generating them if they are not cached.
+     * Safe to call from any thread, but the returned array is shared with the
+     * cache and must not be modified.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The biome ids, indexed as {@code x | z << 4}
+     */
+    byte[] getChunkBiomes(int chunkX, int chunkZ) {
+        return getRegion(chunkX, chunkZ);
+    }
+
+    private BiomeGenBase getBiome(int x, int z) {
+        return toBiome(getRegion(x >> 4, z >> 4)[(x & 15) | (z & 15) << 4]);
+    }
+
+    /**
+     * Gets the biome ids of an area, row by row.
+     */
+    private byte[] getBiomes(int xStart, int zStart, int xSize, int zSize) {
+        byte[] biomes = new byte[xSize * zSize];
+        int xEnd = xStart + xSize;
+        int zEnd = zStart + zSize;
+        for (int chunkZ = zStart >> 4; chunkZ <= (zEnd - 1) >> 4; chunkZ++) {
+            for (int chunkX = xStart >> 4; chunkX <= (xEnd - 1) >> 4; chunkX++) {
+                byte[] region = getRegion(chunkX, chunkZ);
+                int xMin = Math.max(xStart, chunkX << 4);
+                int xMax = Math.min(xEnd, (chunkX << 4) + 16);
+                int zMin = Math.max(zStart, chunkZ << 4);
+                int zMax = Math.min(zEnd, (chunkZ << 4) + 16);
+                for (int z = zMin; z < zMax; z++) {
+                    System.arraycopy(region, (xMin & 15) | (z & 15) << 4, biomes, (xMin - xStart) + (z - zStart) * xSize, xMax - xMin);
+                }
+            }
+        }
+        return biomes;
+    }
+
+    private static BiomeGenBase toBiome(byte biomeId) {
+        BiomeGenBase biome = BiomeGenBase.getBiomeGenArray()[biomeId & 0xff];
+        return biome == null ? BiomeGenBase.ocean : biome;
+    }
+
+    @Override
+    public BiomeGenBase getBiomeGenerator(BlockPos pos, BiomeGenBase biomeGenBaseIn) {
+        return getBiome(pos.getX(), pos.getZ());
+    }
+
+    @Override
+    public void cleanupCache() {
+        super.cleanupCache();
+        this.biomeCache.cleanUp();
+    }
+
     /**
      * Return a list of biomes for the specified blocks. Args: listToReuse, x,
      * y, width, length, cacheFlag (if false, don't check biomeCache to avoid
@@ -100,54 +211,27 @@ public BiomeGenBase[] getBiomeGenAt(BiomeGenBase[] listToReuse, int x, int z, in
     public BiomeGenBase[] getBiomesForGeneration(BiomeGenBase[] biomeArrayZoomedOut, int xStart, int zStart, int xSize, int zSize) {
         // "Biomes for generation" are a 4x zoomed out (on both the x and z
         // axis) version of the normal biomes
-        // The easiest way to obtain these biomes is to obtain the normal
-        // scale biomes and then downscale them
+        // The easiest way to obtain these biomes is to sample the normal
+        // scale biomes at every fourth block
 
         if (biomeArrayZoomedOut == null || biomeArrayZoomedOut.length < xSize * zSize) {
             biomeArrayZoomedOut = new BiomeGenBase[xSize * zSize];
         }
 
-        // Transform to normal scale
-        int xStartBlock = xStart * 4;
-        int zStartBlock = zStart * 4;
-        int xSizeBlock = xSize * 4;
-        int zSizeBlock = zSize * 4;
-
-        // Get biomes
-        ByteArrayMutableBiomeBuffer buffer = getBiomeBuffer(xStartBlock, zStartBlock, xSizeBlock, zSizeBlock);
-        this.biomeGenerator.generateBiomes(buffer);
-
-        // Downscale
-        byte[] biomesForBlocks = buffer.detach();
-        BiomeGenBase[] biomeById = BiomeGenBase.getBiomeGenArray();
-        for (int i = 0; i < biomeArrayZoomedOut.length; i++) {
-            BiomeGenBase biome = biomeById[biomesForBlocks[i * 4] & 0xff];
-            biomeArrayZoomedOut[i] = (biome == null ? BiomeGenBase.ocean : biome);
+        for (int i = 0; i < xSize * zSize; i++) {
+            biomeArrayZoomedOut[i] = getBiome((xStart + i % xSize) << 2, (zStart + i / xSize) << 2);
         }
 
         return biomeArrayZoomedOut;
     }
 
-    private ByteArrayMutableBiomeBuffer getBiomeBuffer(int xStart, int zStart, int xSize, int zSize) {
-        if (xSize == CACHED_AREA_SIZE.getX()
-            && zSize == CACHED_AREA_SIZE.getY()
-            && this.areaForGeneration.isDetached()) {
-            this.areaForGeneration.reuse(new Vector2i(xStart, zStart));
-            return this.areaForGeneration;
-        } else {
-            return new ByteArrayMutableBiomeBuffer(new Vector2i(xStart, zStart), new Vector2i(xSize, zSize));
-        }
-    }
-
     @Override
     public float[] getRainfall(float[] rainfallArray, int x, int z, int xSize, int zSize) {
         if (rainfallArray == null || rainfallArray.length < xSize * zSize) {
             rainfallArray = new float[xSize * zSize];
         }
 
-        ByteArrayMutableBiomeBuffer buffer = getBiomeBuffer(x, z, xSize, zSize);
-        this.biomeGenerator.generateBiomes(buffer);
-        byte[] biomes = buffer.detach();
+        byte[] biomes = getBiomes(x, z, xSize, zSize);
         BiomeGenBase[] biomeById = BiomeGenBase.getBiomeGenArray();
 
         for (int i = 0; i < xSize * zSize; i++) {
@@ -166,7 +250,6 @@ public float[] getRainfall(float[] rainfallArray, int x, int z, int xSize, int z
 
     @Override
     public BlockPos findBiomePosition(int xCenter, int zCenter, int range, @SuppressWarnings("rawtypes") List searchingFor, Random random) {
-        IntCache.resetIntCache();
         int xStartSegment = xCenter - range >> 2;
         int zStartSegment = zCenter - range >> 2;
         int xMaxSegment = xCenter + range >> 2;
@@ -174,19 +257,15 @@ public BlockPos findBiomePosition(int xCenter, int zCenter, int range, @Suppress
         int xSizeSegments = xMaxSegment - xStartSegment + 1;
         int zSizeSegments = zMaxSegment - zStartSegment + 1;
 
-        ByteArrayMutableBiomeBuffer buffer = getBiomeBuffer(xStartSegment << 2, zStartSegment << 2, xSizeSegments << 2, zSizeSegments << 2);
-        this.biomeGenerator.generateBiomes(buffer);
-        byte[] biomes = buffer.detach();
-
         BlockPos blockpos = null;
         int foundPositions = 0;
 
         for (int i = 0; i < xSizeSegments * zSizeSegments; ++i) {
-            BiomeGenBase foundBiome = BiomeGenBase.getBiome(biomes[i << 2] & 0xff);
+            int x = xStartSegment + i % xSizeSegments << 2;
+            int z = zStartSegment + i / xSizeSegments << 2;
+            BiomeGenBase foundBiome = getBiome(x, z);
 
             if (searchingFor.contains(foundBiome) && (blockpos == null || random.nextInt(foundPositions + 1) == 0)) {
-                int x = xStartSegment + i % xSizeSegments << 2;
-                int z = zStartSegment + i / xSizeSegments << 2;
                 blockpos = new BlockPos(x, 0, z);
                 foundPositions++;
             }
@@ -197,7 +276,6 @@ public BlockPos findBiomePosition(int xCenter, int zCenter, int range, @Suppress
 
     @Override
     public boolean areBiomesViable(int xCenter, int zCenter, int range, @SuppressWarnings("rawtypes") List searchingForBiomes) {
-        IntCache.resetIntCache();
         int xStartSegment = xCenter - range >> 2;
         int zStartSegment = zCenter - range >> 2;
         int xMaxSegment = xCenter + range >> 2;
@@ -205,12 +283,8 @@ public boolean areBiomesViable(int xCenter, int zCenter, int range, @SuppressWar
         int xSizeSegments = xMaxSegment - xStartSegment + 1;
         int zSizeSegments = zMaxSegment - zStartSegment + 1;
 
-        ByteArrayMutableBiomeBuffer buffer = getBiomeBuffer(xStartSegment << 2, zStartSegment << 2, xSizeSegments << 2, zSizeSegments << 2);
-        this.biomeGenerator.generateBiomes(buffer);
-        byte[] biomes = buffer.detach();
-
         for (int i = 0; i < xSizeSegments * zSizeSegments; ++i) {
-            BiomeGenBase biomegenbase = BiomeGenBase.getBiome(biomes[i << 2] & 0xff);
+            BiomeGenBase biomegenbase = getBiome(xStartSegment + i % xSizeSegments << 2, zStartSegment + i / xSizeSegments << 2);
 
             if (!searchingForBiomes.contains(biomegenbase)) {
                 return false;
@@ -224,16 +298,13 @@ public boolean areBiomesViable(int xCenter, int zCenter, int range, @SuppressWar
     public BiomeGenBase[] loadBlockGeneratorData(BiomeGenBase[] biomeArray, int startX, int startZ, int sizeX, int sizeZ) {
         if (biomeArray == null || biomeArray.length < sizeX * sizeZ) {
             biomeArray = new BiomeGenBase[sizeX * sizeZ];
-        } else {
-            // Biome generators don't have to set every position. If we set
-            // all positions to ocean first, every position not set will be
-            // ocean, and not some random biome from the last time this array
-            // was used
-            Arrays.fill(biomeArray, BiomeGenBase.ocean);
         }
 
-        MutableBiomeArea biomeArea = new ObjectArrayMutableBiomeBuffer(biomeArray, new Vector2i(startX, startZ), new Vector2i(sizeX, sizeZ));
-        this.biomeGenerator.generateBiomes(biomeArea);
+        // Positions the biome generator didn't set are ocean
+        byte[] biomes = getBiomes(startX, startZ, sizeX, sizeZ);
+        for (int i = 0; i < sizeX * sizeZ; i++) {
+            biomeArray[i] = toBiome(biomes[i]);
+        }
 
         return biomeArray;
     }
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventHandler;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.List;
+
+public class ClassEventDispatcherFactoryTest {
+
+    private final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+    private final ClassEventDispatcherFactory factory = new ClassEventDispatcherFactory("org.spongepowered.common.event.dispatcher");
+
+    @Test
+    public void testDispatchOrder() {
+        List<RegisteredHandler<?>> handlers = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            handlers.add(register(new RecordingHandler(String.valueOf(i), false), false));
+        }
+
+        TestEvent event = new TestEvent();
+        this.factory.create(TestEvent.class, handlers).dispatch(event);
+        assertEquals(ImmutableList.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"), event.calls);
+    }
+
+    @Test
+    public void testIgnoreCancelled() {
+        List<RegisteredHandler<?>> handlers = Lists.newArrayList();
+        handlers.add(register(new RecordingHandler("cancel", true), false));
+        handlers.add(register(new RecordingHandler("ignored", false), true));
+        handlers.add(register(new RecordingHandler("called", false), false));
+
+        TestEvent event = new TestEvent();
+        this.factory.create(TestEvent.class, handlers).dispatch(event);
+        assertTrue(event.isCancelled());
+        assertEquals(ImmutableList.of("cancel", "called"), event.calls);
+    }
+
+    @Test
+    public void testEmpty() {
+        TestEvent event = new TestEvent();
+        this.factory.create(TestEvent.class, Lists.<RegisteredHandler<?>>newArrayList()).dispatch(event);
+        assertTrue(event.calls.isEmpty());
+    }
+
+    private RegisteredHandler<TestEvent> register(RecordingHandler handler, boolean ignoreCancelled) {
+        return new RegisteredHandler<TestEvent>(this.plugin, TestEvent.class, Order.DEFAULT, handler, ignoreCancelled);
+    }
+
+    private static final class RecordingHandler implements EventHandler<TestEvent> {
+
+        private final String name;
+        private final boolean cancel;
+
+        RecordingHandler(String name, boolean cancel) {
+            this.name = name;
+            this.cancel = cancel;
+        }
+
+        @Override
+        public void handle(TestEvent event) throws Exception {
+            event.calls.add(this.name);
+            if (this.cancel) {
+                event.setCancelled(true);
+            }
+        }
+    }
+
+    public static class TestEvent implements Event, Cancellable {
+
+        final List<String> calls = Lists.newArrayList();
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancel) {
+            this.cancelled = cancel;
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin;
+
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.Map;
+
+public class MixinHandlerTest {
+
+    private static final String[] CONFIGS = {"mixins.common.core.json", "mixins.common.api.json"};
+    private static final String INJECTION_PACKAGE = "Lorg/spongepowered/asm/mixin/injection/";
+
+    /**
+     * A handler method is a plain method once it is merged into the target
+     * class, so a handler in a mixin of a subclass with the same name and
+     * descriptor as one in a mixin of its superclass overrides it, and the
+     * superclass handler silently stops running for the subclass.
+     */
+    @Test
+    public void testHandlersAreNotOverridden() throws IOException {
+        Map<String, ClassNode> mixins = Maps.newHashMap();
+        for (String config : CONFIGS) {
+            for (String name : readMixinNames(config)) {
+                ClassNode node = readClass(name);
+                mixins.put(node.name, node);
+            }
+        }
+
+        List<String> overridden = Lists.newArrayList();
+        for (ClassNode mixin : mixins.values()) {
+            for (MethodNode method : mixin.methods) {
+                if (!isHandler(method)) {
+                    continue;
+                }
+                for (ClassNode parent = mixins.get(mixin.superName); parent != null; parent = mixins.get(parent.superName)) {
+                    for (MethodNode parentMethod : parent.methods) {
+                        if ((parentMethod.access & Opcodes.ACC_PRIVATE) == 0 && parentMethod.name.equals(method.name)
+                                && parentMethod.desc.equals(method.desc) && isHandler(parentMethod)) {
+                            overridden.add(mixin.name + "." + method.name + " overrides " + parent.name + "." + parentMethod.name);
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(overridden.toString(), overridden.isEmpty());
+    }
+
+    private static List<String> readMixinNames(String config) throws IOException {
+        InputStream in = MixinHandlerTest.class.getClassLoader().getResourceAsStream(config);
+        try {
+            JsonObject json = new JsonParser().parse(new InputStreamReader(in, "UTF-8")).getAsJsonObject();
+            String mixinPackage = json.get("package").getAsString();
+            List<String> names = Lists.newArrayList();
+            for (String section : new String[] {"mixins", "server", "client"}) {
+                JsonArray array = json.getAsJsonArray(section);
+                if (array != null) {
+                    for (JsonElement element : array) {
+                        names.add(mixinPackage + "." + element.getAsString());
+                    }
+                }
+            }
+            return names;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static ClassNode readClass(String name) throws IOException {
+        InputStream in = MixinHandlerTest.class.getClassLoader().getResourceAsStream(name.replace('.', '/') + ".class");
+        try {
+            ClassNode node = new ClassNode();
+            new ClassReader(in).accept(node, ClassReader.SKIP_CODE);
+            return node;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static boolean isHandler(MethodNode method) {
+        return hasInjectionAnnotation(method.visibleAnnotations) || hasInjectionAnnotation(method.invisibleAnnotations);
+    }
+
+    private static boolean hasInjectionAnnotation(List<AnnotationNode> annotations) {
+        if (annotations != null) {
+            for (AnnotationNode annotation : annotations) {
+                if (annotation.desc.startsWith(INJECTION_PACKAGE)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.network.packet;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.event.ClickEvent;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.S02PacketChat;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.ChatComponentTranslation;
+import net.minecraft.util.EnumChatFormatting;
+import net.minecraft.util.IChatComponent;
+import org.junit.Test;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.lang.reflect.Field;
+
+public class MixinS02PacketChatTest {
+
+    @Test
+    public void testCachedEncodingMatchesVanilla() throws Exception {
+        IChatComponent component = new ChatComponentText("Hello ");
+        component.getChatStyle().setColor(EnumChatFormatting.GOLD);
+        IChatComponent name = new ChatComponentText("Steve");
+        name.getChatStyle().setBold(true).setChatClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/msg Steve "));
+        component.appendSibling(name);
+        component.appendSibling(new ChatComponentTranslation("chat.type.text", "a", 1));
+
+        for (byte type = 0; type <= 2; type++) {
+            // The test classpath has no mixins applied, so this is the
+            // vanilla encoding used for each player before
+            PacketBuffer vanilla = new PacketBuffer(Unpooled.buffer());
+            new S02PacketChat(component, type).writePacketData(vanilla);
+
+            MixinS02PacketChat mixin = new MixinS02PacketChat();
+            setField(mixin, "chatComponent", component);
+            setField(mixin, "type", type);
+            byte[] expected = toBytes(vanilla);
+            // Encoded, then served from the cached bytes
+            assertArrayEquals(expected, encode(mixin));
+            assertArrayEquals(expected, encode(mixin));
+        }
+    }
+
+    private static byte[] encode(MixinS02PacketChat mixin) throws Exception {
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        mixin.onWritePacketData(buf, new CallbackInfo("writePacketData", true));
+        return toBytes(buf);
+    }
+
+    private static byte[] toBytes(PacketBuffer buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+}
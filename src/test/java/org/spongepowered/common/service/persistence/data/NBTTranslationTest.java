@@ -24,6 +24,10 @@
  */
 package org.spongepowered.common.service.persistence.data;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.google.common.base.Optional;
@@ -54,4 +58,99 @@ public void testContainerToNBT() {
         assertTrue(container.equals(translatedContainer));
     }
 
+    @Test
+    public void testPrimitiveArraysToNBT() {
+        DataContainer container = new MemoryDataContainer();
+        container.set(new DataQuery("bytes"), new byte[] {1, 2, 3});
+        container.set(new DataQuery("ints"), new int[] {4, 5, 6});
+        NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        assertArrayEquals(new byte[] {1, 2, 3}, compound.getByteArray("bytes"));
+        assertArrayEquals(new int[] {4, 5, 6}, compound.getIntArray("ints"));
+    }
+
+    @Test
+    public void testKeyWithDotsRoundTrip() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setString("forge.data", "value");
+        compound.setTag("nested", new NBTTagCompound());
+        compound.getCompoundTag("nested").setInteger("level", 3);
+        DataView view = NbtTranslator.getInstance().translateFrom(compound);
+        assertEquals("value", view.getString(new DataQuery("forge.data")).get());
+        assertEquals(3, (int) view.getInt(new DataQuery("nested", "level")).get());
+        assertEquals(compound, NbtTranslator.getInstance().translateData(view));
+    }
+
+    @Test
+    public void testLazyTranslation() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setString("name", "Steve");
+        compound.setTag("pos", new NBTTagCompound());
+        compound.getCompoundTag("pos").setDouble("x", 1.5D);
+        DataContainer lazy = NbtTranslator.getInstance().translateFromLazily(compound);
+        assertEquals("Steve", lazy.getString(new DataQuery("name")).get());
+        assertEquals(1.5D, lazy.getDouble(new DataQuery("pos", "x")).get(), 0);
+        assertTrue(lazy.contains(new DataQuery("pos", "x")));
+        assertFalse(lazy.get(new DataQuery("missing", "x")).isPresent());
+        assertEquals(NbtTranslator.getInstance().translateFrom(compound), lazy.copy());
+
+        // Writes go to a copy
+        lazy.set(new DataQuery("name"), "Alex");
+        assertEquals("Alex", lazy.getString(new DataQuery("name")).get());
+        assertEquals("Steve", compound.getString("name"));
+    }
+
+    @Test
+    public void testLazyEquality() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setString("name", "Steve");
+        compound.setInteger("level", 3);
+        DataContainer lazy = NbtTranslator.getInstance().translateFromLazily(compound);
+        DataContainer other = NbtTranslator.getInstance().translateFromLazily(compound);
+        assertTrue(lazy.equals(other));
+        assertTrue(other.equals(lazy));
+        assertEquals(lazy.hashCode(), other.hashCode());
+
+        // Still equal once one of them is translated by a write
+        other.set(new DataQuery("level"), 3);
+        assertTrue(lazy.equals(other));
+        assertTrue(other.equals(lazy));
+        assertEquals(lazy.hashCode(), other.hashCode());
+
+        // Only equal to containers of the same class, in both directions
+        DataContainer memory = NbtTranslator.getInstance().translateFrom(compound);
+        assertFalse(lazy.equals(memory));
+        assertFalse(memory.equals(lazy));
+    }
+
+    @Test
+    public void testLazyConversionsMatchTranslated() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setByte("flag", (byte) 1);
+        compound.setInteger("level", 3);
+        compound.setString("name", "Steve");
+        DataContainer lazy = NbtTranslator.getInstance().translateFromLazily(compound);
+        DataView translated = NbtTranslator.getInstance().translateFrom(compound);
+        for (String key : new String[] {"flag", "level", "name", "missing"}) {
+            DataQuery query = new DataQuery(key);
+            assertEquals(translated.getBoolean(query), lazy.getBoolean(query));
+            assertEquals(translated.getInt(query), lazy.getInt(query));
+            assertEquals(translated.getLong(query), lazy.getLong(query));
+            assertEquals(translated.getDouble(query), lazy.getDouble(query));
+            assertEquals(translated.getString(query), lazy.getString(query));
+        }
+    }
+
+    @Test
+    public void testLazyViewsBelongToContainer() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag("pos", new NBTTagCompound());
+        compound.getCompoundTag("pos").setDouble("x", 1.5D);
+        DataContainer lazy = NbtTranslator.getInstance().translateFromLazily(compound);
+        DataView pos = lazy.getView(new DataQuery("pos")).get();
+        assertSame(lazy, pos.getContainer());
+        assertSame(lazy, pos.getParent().get());
+        assertSame(lazy, lazy.createView(new DataQuery("a", "b")).getContainer());
+        assertSame(lazy, ((DataView) lazy.get(new DataQuery("pos")).get()).getContainer());
+    }
+
 }
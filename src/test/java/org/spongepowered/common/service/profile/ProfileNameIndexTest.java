@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.mojang.authlib.GameProfile;
+import org.junit.Test;
+
+import java.util.UUID;
+
+public class ProfileNameIndexTest {
+
+    private final ProfileNameIndex index = new ProfileNameIndex();
+
+    @Test
+    public void testMatchesPrefixIgnoringCase() {
+        GameProfile steve = profile("Steve");
+        GameProfile stella = profile("stella");
+        GameProfile alex = profile("Alex");
+        this.index.add(steve);
+        this.index.add(stella);
+        this.index.add(alex);
+
+        assertEquals(ImmutableList.of(stella, steve), this.index.match("ST"));
+        assertEquals(ImmutableList.of(steve), this.index.match("steve"));
+        assertEquals(ImmutableList.of(alex, stella, steve), this.index.match(""));
+        assertTrue(this.index.match("steven").isEmpty());
+        assertTrue(this.index.match("b").isEmpty());
+    }
+
+    @Test
+    public void testRenameReplacesPreviousName() {
+        UUID uniqueId = UUID.randomUUID();
+        this.index.add(new GameProfile(uniqueId, "Steve"));
+        GameProfile renamed = new GameProfile(uniqueId, "Notch");
+        this.index.add(renamed);
+
+        assertTrue(this.index.match("steve").isEmpty());
+        assertEquals(ImmutableList.of(renamed), this.index.match("notch"));
+    }
+
+    @Test
+    public void testNameTakenOverByAnotherProfile() {
+        GameProfile previous = profile("Steve");
+        GameProfile current = profile("Steve");
+        this.index.add(previous);
+        this.index.add(current);
+        assertEquals(ImmutableList.of(current), this.index.match("steve"));
+
+        // Removing the previous owner keeps the name of the current one
+        this.index.remove(previous.getId());
+        assertEquals(ImmutableList.of(current), this.index.match("steve"));
+        this.index.remove(current.getId());
+        assertTrue(this.index.match("steve").isEmpty());
+    }
+
+    @Test
+    public void testIgnoresIncompleteProfiles() {
+        this.index.add(new GameProfile(UUID.randomUUID(), null));
+        this.index.add(new GameProfile(null, "Steve"));
+        assertTrue(this.index.match("").isEmpty());
+    }
+
+    private static GameProfile profile(String name) {
+        return new GameProfile(UUID.randomUUID(), name);
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.mojang.authlib.Agent;
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.GameProfileRepository;
+import com.mojang.authlib.ProfileLookupCallback;
+import com.mojang.authlib.minecraft.MinecraftSessionService;
+import com.mojang.authlib.properties.Property;
+import net.minecraft.server.management.PlayerProfileCache;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.spongepowered.api.service.profile.ProfileNotFoundException;
+import org.spongepowered.common.interfaces.IMixinPlayerProfileCache;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public class SpongeProfileResolverTest {
+
+    private static final UUID ID = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Runnable> tasks = Lists.newArrayList();
+    private MinecraftSessionService sessionService;
+    private GameProfileRepository profileRepository;
+    private PlayerProfileCache profileCache;
+    private SpongeProfileResolver resolver;
+
+    @Before
+    public void setUp() {
+        this.sessionService = mock(MinecraftSessionService.class);
+        this.profileRepository = mock(GameProfileRepository.class);
+        this.profileCache = mock(PlayerProfileCache.class, withSettings().extraInterfaces(IMixinPlayerProfileCache.class));
+        Executor executor = new Executor() {
+
+            @Override
+            public void execute(Runnable command) {
+                SpongeProfileResolverTest.this.tasks.add(command);
+            }
+        };
+        this.resolver = new SpongeProfileResolver(new ProfileStore(null, 1, 1, TimeUnit.HOURS), executor,
+                this.sessionService, this.profileRepository, this.profileCache);
+    }
+
+    private void runTasks() {
+        while (!this.tasks.isEmpty()) {
+            this.tasks.remove(0).run();
+        }
+    }
+
+    @Test
+    public void testConcurrentIdLookupsAreCoalesced() throws Exception {
+        when(this.sessionService.fillProfileProperties(any(GameProfile.class), eq(false))).thenReturn(new GameProfile(ID, "Notch"));
+
+        ListenableFuture<GameProfile> first = this.resolver.lookup(ID, false);
+        ListenableFuture<GameProfile> second = this.resolver.lookup(ID, false);
+        assertSame(first, second);
+        runTasks();
+
+        assertEquals("Notch", first.get().getName());
+        assertEquals("Notch", this.resolver.lookup(ID, true).get().getName());
+        verify(this.sessionService, times(1)).fillProfileProperties(any(GameProfile.class), eq(false));
+    }
+
+    @Test
+    public void testMissingIdIsRemembered() throws Exception {
+        when(this.sessionService.fillProfileProperties(any(GameProfile.class), eq(false))).thenReturn(new GameProfile(ID, null));
+
+        ListenableFuture<GameProfile> future = this.resolver.lookup(ID, true);
+        runTasks();
+        assertNotFound(future);
+
+        assertNotFound(this.resolver.lookup(ID, true));
+        assertTrue(this.tasks.isEmpty());
+        verify(this.sessionService, times(1)).fillProfileProperties(any(GameProfile.class), eq(false));
+    }
+
+    @Test
+    public void testConcurrentNameLookupsAreBatched() throws Exception {
+        doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ProfileLookupCallback callback = (ProfileLookupCallback) invocation.getArguments()[2];
+                for (String name : (String[]) invocation.getArguments()[0]) {
+                    if (name.equalsIgnoreCase("notch")) {
+                        callback.onProfileLookupSucceeded(new GameProfile(ID, "Notch"));
+                    } else {
+                        callback.onProfileLookupFailed(new GameProfile(null, name),
+                                new com.mojang.authlib.yggdrasil.ProfileNotFoundException("Server did not find the requested profile"));
+                    }
+                }
+                return null;
+            }
+        }).when(this.profileRepository).findProfilesByNames(any(String[].class), eq(Agent.MINECRAFT), any(ProfileLookupCallback.class));
+
+        ListenableFuture<GameProfile> notch = this.resolver.lookup("notch", true);
+        ListenableFuture<GameProfile> unknown = this.resolver.lookup("Nobody", true);
+        assertSame(notch, this.resolver.lookup("NOTCH", false));
+        runTasks();
+
+        assertEquals(ID, notch.get().getId());
+        assertNotFound(unknown);
+        verify(this.profileRepository, times(1)).findProfilesByNames(eq(new String[] {"notch", "Nobody"}), eq(Agent.MINECRAFT),
+                any(ProfileLookupCallback.class));
+
+        // Answered by the store and the remembered missing name
+        assertEquals(ID, this.resolver.lookupAllByName(Arrays.asList("Notch"), true).get().get(0).getId());
+        assertNotFound(this.resolver.lookup("nobody", true));
+        assertTrue(this.tasks.isEmpty());
+    }
+
+    @Test
+    public void testUserCacheIsNotAskedToLookUpMisses() throws Exception {
+        when(((IMixinPlayerProfileCache) this.profileCache).getCachedProfile("Notch")).thenReturn(new GameProfile(ID, "Notch"));
+
+        assertEquals(ID, this.resolver.lookup("Notch", true).get().getId());
+        assertTrue(this.tasks.isEmpty());
+
+        // A miss goes to the batched lookup rather than the user cache's own
+        this.resolver.lookup("Nobody", true);
+        assertEquals(1, this.tasks.size());
+        verify(this.profileCache, never()).getGameProfileForUsername(any(String.class));
+    }
+
+    @Test
+    public void testStoreIsPersisted() throws Exception {
+        File file = new File(this.folder.getRoot(), "profiles.json");
+        ProfileStore store = new ProfileStore(file, 1, 1, TimeUnit.HOURS);
+        GameProfile profile = new GameProfile(ID, "Notch");
+        profile.getProperties().put("textures", new Property("textures", "value", "signature"));
+        store.put(profile);
+        store.save();
+
+        ProfileStore loaded = new ProfileStore(file, 1, 1, TimeUnit.HOURS);
+        loaded.load();
+        GameProfile loadedProfile = loaded.getByName("NOTCH");
+        assertEquals(ID, loadedProfile.getId());
+        assertEquals("Notch", loadedProfile.getName());
+        Property textures = loadedProfile.getProperties().get("textures").iterator().next();
+        assertEquals("value", textures.getValue());
+        assertEquals("signature", textures.getSignature());
+    }
+
+    private static void assertNotFound(ListenableFuture<GameProfile> future) throws InterruptedException {
+        try {
+            future.get();
+            fail("Profile should not have been found");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ProfileNotFoundException);
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SchedulerBaseTest {
+
+    private final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+
+    @Test
+    public void testRejectedOneShotIsRetried() {
+        AtomicInteger count = new AtomicInteger();
+        RejectingScheduler scheduler = new RejectingScheduler(2);
+        scheduler.addTask(new ScheduledTask(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, new Counter(count), "test", 0, false, 0, false,
+                this.plugin));
+
+        scheduler.tick();
+        assertEquals(0, count.get());
+        assertEquals(1, scheduler.getScheduledTasks().size());
+
+        // Runs once the rejections are used up
+        while (scheduler.rejections > 0 || count.get() == 0) {
+            scheduler.tick();
+        }
+        assertEquals(1, count.get());
+        assertTrue(scheduler.getScheduledTasks().isEmpty());
+    }
+
+    @Test
+    public void testRejectedRepeatingRunIsSkipped() {
+        AtomicInteger count = new AtomicInteger();
+        RejectingScheduler scheduler = new RejectingScheduler(1);
+        scheduler.addTask(new ScheduledTask(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, new Counter(count), "test", 0, false, 10, false,
+                this.plugin));
+
+        scheduler.tick();
+        assertEquals(0, count.get());
+        for (int i = 0; i < 10; i++) {
+            scheduler.tick();
+        }
+        assertEquals(1, count.get());
+        assertEquals(1, scheduler.getScheduledTasks().size());
+    }
+
+    /**
+     * A scheduler using a manual clock which rejects the first runs it is
+     * given.
+     */
+    private static final class RejectingScheduler extends SchedulerBase {
+
+        int rejections;
+        private long clock;
+
+        RejectingScheduler(int rejections) {
+            super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
+            this.rejections = rejections;
+        }
+
+        void tick() {
+            this.clock++;
+            this.runTick();
+        }
+
+        @Override
+        protected long getTimestamp(ScheduledTask task) {
+            return this.clock;
+        }
+
+        @Override
+        protected boolean executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+            if (this.rejections > 0) {
+                this.rejections--;
+                return false;
+            }
+            runnable.run();
+            return true;
+        }
+    }
+
+}
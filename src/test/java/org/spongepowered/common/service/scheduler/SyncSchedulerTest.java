@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SyncSchedulerTest {
+
+    private final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+    private final SyncScheduler scheduler = new SyncScheduler();
+
+    @Test
+    public void testDelayedAndRepeating() {
+        AtomicInteger delayed = new AtomicInteger();
+        AtomicInteger repeating = new AtomicInteger();
+        submit(new Counter(delayed), 3, 0);
+        submit(new Counter(repeating), 0, 2);
+
+        for (int i = 0; i < 5; i++) {
+            this.scheduler.tick();
+        }
+        assertEquals(1, delayed.get());
+        // Runs on ticks 1, 3 and 5
+        assertEquals(3, repeating.get());
+        assertEquals(1, this.scheduler.getScheduledTasks().size());
+    }
+
+    @Test
+    public void testCancelled() {
+        AtomicInteger count = new AtomicInteger();
+        ScheduledTask task = submit(new Counter(count), 1, 1);
+        task.cancel();
+
+        this.scheduler.tick();
+        assertEquals(0, count.get());
+        assertTrue(this.scheduler.getScheduledTasks().isEmpty());
+    }
+
+    @Test
+    public void testManyPendingTasks() {
+        AtomicInteger pending = new AtomicInteger();
+        AtomicInteger due = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            submit(new Counter(pending), 200 + i % 100, 0);
+        }
+        submit(new Counter(due), 1, 0);
+
+        for (int i = 0; i < 100; i++) {
+            this.scheduler.tick();
+        }
+        assertEquals(0, pending.get());
+        assertEquals(1, due.get());
+        assertEquals(1000, this.scheduler.getScheduledTasks().size());
+
+        for (int i = 0; i < 200; i++) {
+            this.scheduler.tick();
+        }
+        assertEquals(1000, pending.get());
+        assertTrue(this.scheduler.getScheduledTasks().isEmpty());
+    }
+
+    @Test
+    public void testRunsInDueOrder() {
+        final List<Integer> order = Lists.newArrayList();
+        for (final int delay : new int[] {5, 2, 4, 1, 3}) {
+            submit(new Runnable() {
+
+                @Override
+                public void run() {
+                    order.add(delay);
+                }
+            }, delay, 0);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            this.scheduler.tick();
+            assertEquals(i + 1, order.size());
+        }
+        assertEquals(Lists.newArrayList(1, 2, 3, 4, 5), order);
+    }
+
+    private ScheduledTask submit(Runnable runnable, long delayTicks, long intervalTicks) {
+        ScheduledTask task = new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, runnable, "test", delayTicks, true,
+                intervalTicks, true, this.plugin);
+        this.scheduler.addTask(task);
+        return task;
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SnapshotListTest {
+
+    @Test
+    public void testSnapshotIsNotAffectedByChanges() {
+        SnapshotList<String> list = new SnapshotList<String>(ImmutableList.of("a", "b", "c"));
+        ImmutableList<String> snapshot = list.snapshot();
+
+        list.add("d");
+        list.set(0, "z");
+        list.remove("b");
+        assertEquals(ImmutableList.of("a", "b", "c"), snapshot);
+        assertEquals(ImmutableList.of("z", "c", "d"), list.snapshot());
+
+        ImmutableList<String> beforeClear = list.snapshot();
+        list.clear();
+        assertEquals(ImmutableList.of("z", "c", "d"), beforeClear);
+        assertTrue(list.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testSnapshotsAreConsistentUnderConcurrentChanges() throws InterruptedException {
+        final SnapshotList<Integer> list = new SnapshotList<Integer>();
+        final int count = 20000;
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread writer = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                // Keeps a window of consecutive numbers, adding at the end and
+                // removing from the start
+                for (int i = 0; i < count; i++) {
+                    list.add(i);
+                    if (list.size() > 50) {
+                        list.remove(0);
+                    }
+                }
+                done.countDown();
+            }
+        });
+        writer.start();
+
+        try {
+            while (done.getCount() > 0) {
+                ImmutableList<Integer> snapshot = list.snapshot();
+                int size = snapshot.size();
+                int first = size == 0 ? 0 : snapshot.get(0);
+                int index = 0;
+                for (Integer value : snapshot) {
+                    assertEquals(first + index++, (int) value);
+                }
+                assertEquals(size, index);
+                assertEquals(size, snapshot.size());
+            }
+        } catch (Throwable t) {
+            failure.set(t);
+        }
+        writer.join();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertEquals(50, list.size());
+        assertEquals(count - 1, (int) list.get(49));
+    }
+
+}